@@ -0,0 +1,68 @@
+package fr.corentinbringer.smarttasks.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-level cache regions of Hibernate, held by a local Caffeine JCache manager. Entity regions are
+ * keyed by id and only reached through lookups that also match the tenant; query results are keyed by
+ * their parameters, tenant included, so one tenant's entries are never served to another.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PROJECTS_REGION = "projects";
+    public static final String TASKS_REGION = "tasks";
+    public static final String TENANT_LOOKUPS_REGION = "tenant-lookups";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${smarttasks.cache.hibernate.maximum-size:10000}") long maximumSize,
+                                              @Value("${smarttasks.cache.hibernate.ttl:10m}") Duration ttl,
+                                              MeterRegistry meterRegistry) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // The provider's default manager is shared by the whole JVM: one per context keeps the regions
+        // of several contexts (tests, restarts) apart, and closing it doesn't pull them from under another
+        URI uri = URI.create("smarttasks-hibernate-" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        for (String region : new String[]{PROJECTS_REGION, TASKS_REGION, TENANT_LOOKUPS_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME}) {
+            cacheManager.createCache(region, boundedRegion(maximumSize, ttl));
+            JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(region));
+        }
+        // Last write time per table; it must outlive every cached query result, so it never expires
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedRegion(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttl.toMillis())));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
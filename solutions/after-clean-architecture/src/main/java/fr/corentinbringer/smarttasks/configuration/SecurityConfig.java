@@ -1,16 +1,35 @@
 package fr.corentinbringer.smarttasks.configuration;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import fr.corentinbringer.smarttasks.configuration.security.CachingJwtDecoder;
+import fr.corentinbringer.smarttasks.configuration.security.LocalSigningKey;
+import fr.corentinbringer.smarttasks.configuration.security.RefreshingJwkSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -39,6 +58,65 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Replaces Boot's issuer-uri decoder behind a cache of verified tokens. By default the issuer is
+     * discovered lazily on the first request; in offline mode keys come from {@link RefreshingJwkSource}
+     * and no request or startup step waits on the network.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                 @Value("${smarttasks.security.jwt-cache.enabled:true}") boolean cacheEnabled,
+                                 @Value("${smarttasks.security.jwt-cache.maximum-size:10000}") long cacheMaximumSize,
+                                 @Value("${smarttasks.security.jwt-cache.max-ttl:10m}") Duration cacheMaxTtl,
+                                 ObjectProvider<RefreshingJwkSource> offlineJwkSource,
+                                 MeterRegistry meterRegistry) {
+        RefreshingJwkSource jwkSource = offlineJwkSource.getIfAvailable();
+        JwtDecoder decoder = jwkSource != null
+                ? offlineDecoder(jwkSource, issuerUri)
+                : new SupplierJwtDecoder(() -> JwtDecoders.fromIssuerLocation(issuerUri));
+
+        return cacheEnabled
+                ? new CachingJwtDecoder(decoder, cacheMaximumSize, cacheMaxTtl, meterRegistry)
+                : decoder;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "smarttasks.security.jwt.offline.enabled", havingValue = "true")
+    public RefreshingJwkSource offlineJwkSource(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                                @Value("${smarttasks.security.jwt.offline.jwk-set-file:}") String jwkSetFile,
+                                                @Value("${smarttasks.security.jwt.offline.cache-file:}") String cacheFile,
+                                                @Value("${smarttasks.security.jwt.offline.refresh-interval:6h}") Duration refreshInterval,
+                                                @Value("${smarttasks.security.jwt.offline.fetch-timeout:5s}") Duration fetchTimeout,
+                                                ObjectProvider<LocalSigningKey> localSigningKey) {
+        List<JWK> additionalKeys = localSigningKey.stream().map(LocalSigningKey::publicJwk).toList();
+
+        return new RefreshingJwkSource(issuerUri, pathOrNull(jwkSetFile), pathOrNull(cacheFile),
+                refreshInterval, fetchTimeout, additionalKeys);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "smarttasks.security.jwt.local-signing-key.enabled", havingValue = "true")
+    public LocalSigningKey localSigningKey(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                           @Value("${smarttasks.security.jwt.local-signing-key.file:}") String file) {
+        return LocalSigningKey.loadOrGenerate(pathOrNull(file), issuerUri);
+    }
+
+    private static JwtDecoder offlineDecoder(RefreshingJwkSource jwkSource, String issuerUri) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.Family.RSA, jwkSource));
+        // Claims are checked by the Spring validator below, like the issuer-uri decoder does.
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
+    }
+
+    private static Path pathOrNull(String path) {
+        return path == null || path.isBlank() ? null : Path.of(path);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -0,0 +1,108 @@
+package fr.corentinbringer.smarttasks.configuration.concurrency;
+
+import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs subtasks on virtual threads and waits for all of them, in the spirit of
+ * {@code StructuredTaskScope.ShutdownOnFailure} (still a preview API): the first failure or the
+ * deadline cancels the remaining subtasks, and {@link #close()} does not return before they are done.
+ * The caller's tenant is handed to each subtask through {@link TenantContext#propagating}.
+ * <p>
+ * Running subtasks are not interrupted: an interrupt closes the socket under a blocking JDBC call on a
+ * virtual thread, which throws the pooled connection away and leaves the query running on the server.
+ * A subtask must instead bound its blocking calls by {@link #remaining()}, or {@link #close()} waits
+ * for them past the deadline.
+ *
+ * <pre>{@code
+ * try (FanOutScope scope = FanOutScope.open(Duration.ofSeconds(2))) {
+ *     Supplier<Long> count = scope.fork(() -> port.count(tenantId));
+ *     scope.join();
+ *     return count.get();
+ * }
+ * }</pre>
+ */
+public final class FanOutScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CompletionService<Object> completionService = new ExecutorCompletionService<>(TenantContext.propagating(executor));
+    private final List<Future<Object>> futures = new ArrayList<>();
+    private final long deadlineNanos;
+    private final Duration timeout;
+
+    private FanOutScope(Duration timeout) {
+        this.timeout = timeout;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public static FanOutScope open(Duration timeout) {
+        return new FanOutScope(timeout);
+    }
+
+    /**
+     * The returned supplier may only be called after a successful {@link #join()}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> fork(Callable<T> subtask) {
+        Future<Object> future = completionService.submit(subtask::call);
+        futures.add(future);
+
+        return () -> (T) future.resultNow();
+    }
+
+    /**
+     * The time left before the deadline, which is negative once it has passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * Waits for every subtask. Rethrows the first failure, or throws if the deadline passes first.
+     */
+    public void join() {
+        try {
+            for (int remaining = futures.size(); remaining > 0; remaining--) {
+                Future<Object> done = completionService.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    cancelAll();
+                    throw new IllegalStateException("Subtasks did not complete within " + timeout);
+                }
+                done.get();
+            }
+        } catch (ExecutionException e) {
+            cancelAll();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for subtasks", e);
+        }
+    }
+
+    private void cancelAll() {
+        // Only keeps the subtasks that haven't started from running
+        futures.forEach(future -> future.cancel(false));
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        executor.close();
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Configuration
 @Getter
@@ -24,6 +25,9 @@ public class MinioConfig {
     @Value("${minio.bucketName}")
     private String bucketName;
 
+    @Value("${minio.partSize:5MB}")
+    private DataSize partSize;
+
     @Bean
     public MinioClient minioClient() {
         return MinioClient.builder()
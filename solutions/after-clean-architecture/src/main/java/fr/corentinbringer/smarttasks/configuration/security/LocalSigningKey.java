@@ -0,0 +1,80 @@
+package fr.corentinbringer.smarttasks.configuration.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * RSA key trusted by the offline decoder and used to mint tokens without an identity provider,
+ * for integration tests, benchmarks and local runs. Never enable it where real users authenticate.
+ */
+@Slf4j
+public class LocalSigningKey {
+
+    private final RSAKey key;
+    private final String issuer;
+    private final JwtEncoder encoder;
+
+    LocalSigningKey(RSAKey key, String issuer) {
+        this.key = key;
+        this.issuer = issuer;
+        this.encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key)));
+    }
+
+    /**
+     * Reads the private RSA JWK at {@code file}, or generates a throwaway key when no file is given.
+     */
+    public static LocalSigningKey loadOrGenerate(Path file, String issuer) {
+        try {
+            RSAKey key = file != null
+                    ? JWK.parse(Files.readString(file)).toRSAKey()
+                    : new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+            if (!key.isPrivate()) {
+                throw new IllegalStateException("Local signing key " + file + " has no private part");
+            }
+
+            log.warn("Tokens signed by the local key {} are trusted; do not use this outside tests and local runs", key.getKeyID());
+            return new LocalSigningKey(key, issuer);
+        } catch (IOException | ParseException | JOSEException e) {
+            throw new IllegalStateException("Cannot load local signing key " + file, e);
+        }
+    }
+
+    public JWK publicJwk() {
+        return key.toPublicJWK();
+    }
+
+    /**
+     * Issues an RS256 token for {@code subject} (the tenant), valid for {@code ttl}.
+     */
+    public String mint(String subject, Duration ttl) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .subject(subject)
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).keyId(key.getKeyID()).build();
+
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,181 @@
+package fr.corentinbringer.smarttasks.configuration.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JWK source that never touches the network on the calling thread. Keys come from a local JWK set
+ * file when one is configured; otherwise from the last issuer JWKS written to {@code cacheFile},
+ * refreshed in the background from the issuer's discovery document. A token signed by an unknown
+ * key is rejected immediately and schedules an early refresh, so key rotation is picked up without
+ * waiting for the next period.
+ */
+@Slf4j
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private static final Duration MIN_REFRESH_GAP = Duration.ofSeconds(30);
+
+    private final String issuerUri;
+    private final Path cacheFile;
+    private final Duration fetchTimeout;
+    private final List<JWK> additionalKeys;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService refresher;
+    private final boolean followsIssuer;
+    private final AtomicLong lastRefreshRequest = new AtomicLong();
+
+    private volatile JWKSet keys;
+
+    /**
+     * @param jwkSetFile     JWK set to trust, read once; {@code null} to follow the issuer's JWKS instead
+     * @param additionalKeys keys trusted on top of the file or issuer ones (e.g. a local signing key)
+     */
+    public RefreshingJwkSource(String issuerUri, Path jwkSetFile, Path cacheFile, Duration refreshInterval,
+                               Duration fetchTimeout, List<JWK> additionalKeys) {
+        this.issuerUri = issuerUri;
+        this.cacheFile = cacheFile;
+        this.fetchTimeout = fetchTimeout;
+        this.additionalKeys = List.copyOf(additionalKeys);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(fetchTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.followsIssuer = jwkSetFile == null;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("jwks-refresh").factory());
+
+        if (!followsIssuer) {
+            this.keys = withAdditionalKeys(load(jwkSetFile));
+            log.info("Trusting {} key(s) from {}", keys.size(), jwkSetFile);
+        } else {
+            this.keys = withAdditionalKeys(loadCache());
+            refresher.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> matches = jwkSelector.select(keys);
+        if (matches.isEmpty()) {
+            requestRefresh();
+        }
+        return matches;
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private void requestRefresh() {
+        if (!followsIssuer || refresher.isShutdown()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long last = lastRefreshRequest.get();
+        if (last != 0 && now - last < MIN_REFRESH_GAP.toNanos()) {
+            return;
+        }
+        if (lastRefreshRequest.compareAndSet(last, now)) {
+            refresher.execute(this::refresh);
+        }
+    }
+
+    void refresh() {
+        try {
+            String discovery = fetch(URI.create(issuerUri.replaceAll("/+$", "") + "/.well-known/openid-configuration"));
+            String jwksUri = JSONObjectUtils.getString(JSONObjectUtils.parse(discovery), "jwks_uri");
+            if (jwksUri == null) {
+                throw new IOException("No jwks_uri in the discovery document of " + issuerUri);
+            }
+
+            String jwks = fetch(URI.create(jwksUri));
+            JWKSet fetched = JWKSet.parse(jwks);
+            keys = withAdditionalKeys(fetched);
+            store(jwks);
+            log.debug("Refreshed {} key(s) from {}", fetched.size(), jwksUri);
+        } catch (IOException | ParseException e) {
+            log.warn("Could not refresh the JWK set of {}, keeping {} known key(s): {}", issuerUri, keys.size(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String fetch(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(fetchTimeout).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + uri + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private void store(String jwks) {
+        if (cacheFile == null) {
+            return;
+        }
+
+        try {
+            Path parent = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+            Files.writeString(tmp, jwks);
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write the JWK set cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private JWKSet withAdditionalKeys(JWKSet set) {
+        if (additionalKeys.isEmpty()) {
+            return set;
+        }
+        List<JWK> merged = new ArrayList<>(set.getKeys());
+        merged.addAll(additionalKeys);
+        return new JWKSet(merged);
+    }
+
+    private JWKSet loadCache() {
+        if (cacheFile == null || !Files.isReadable(cacheFile)) {
+            return new JWKSet();
+        }
+
+        try {
+            return load(cacheFile);
+        } catch (IllegalStateException e) {
+            log.warn("Ignoring unreadable JWK set cache {}: {}", cacheFile, e.getMessage());
+            return new JWKSet();
+        }
+    }
+
+    private static JWKSet load(Path file) {
+        try {
+            return JWKSet.load(file.toFile());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot read JWK set " + file, e);
+        }
+    }
+}
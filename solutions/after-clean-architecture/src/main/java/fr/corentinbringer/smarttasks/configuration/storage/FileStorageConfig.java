@@ -0,0 +1,49 @@
+package fr.corentinbringer.smarttasks.configuration.storage;
+
+import fr.corentinbringer.smarttasks.configuration.minio.MinioConfig;
+import fr.corentinbringer.smarttasks.project.application.port.out.FileStoragePort;
+import fr.corentinbringer.smarttasks.project.infrastructure.minio.MinioFileStorageAdapter;
+import fr.corentinbringer.smarttasks.project.infrastructure.storage.DiskCachingFileStorage;
+import fr.corentinbringer.smarttasks.project.infrastructure.storage.FilesystemFileStorageAdapter;
+import fr.corentinbringer.smarttasks.project.infrastructure.storage.FilesystemFileStorageAdapter.FsyncPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.MinioClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class FileStorageConfig {
+
+    /**
+     * Attachments are stored in MinIO, read through a local disk cache when it is enabled; or, with
+     * the filesystem storage enabled, directly on local disk, where the cache would only add a copy.
+     */
+    @Bean
+    public FileStoragePort fileStoragePort(MinioClient minioClient,
+                                           MinioConfig minioConfig,
+                                           @Value("${smarttasks.storage.filesystem.enabled:false}") boolean filesystemEnabled,
+                                           @Value("${smarttasks.storage.filesystem.directory:${java.io.tmpdir}/smarttasks/storage}") String filesystemDirectory,
+                                           @Value("${smarttasks.storage.filesystem.fsync:FILE_AND_DIRECTORY}") FsyncPolicy filesystemFsync,
+                                           @Value("${smarttasks.storage.disk-cache.enabled:false}") boolean diskCacheEnabled,
+                                           @Value("${smarttasks.storage.disk-cache.directory:${user.home}/.cache/smarttasks/attachments}") String diskCacheDirectory,
+                                           @Value("${smarttasks.storage.disk-cache.maximum-size:1GB}") DataSize diskCacheMaximumSize,
+                                           @Value("${smarttasks.storage.disk-cache.delete-delay:1m}") Duration diskCacheDeleteDelay,
+                                           MeterRegistry meterRegistry) throws IOException {
+        if (filesystemEnabled) {
+            return new FilesystemFileStorageAdapter(Path.of(filesystemDirectory), filesystemFsync);
+        }
+
+        FileStoragePort storage = new MinioFileStorageAdapter(minioClient, minioConfig);
+
+        return diskCacheEnabled
+                ? new DiskCachingFileStorage(storage, Path.of(diskCacheDirectory), diskCacheMaximumSize.toBytes(),
+                        diskCacheDeleteDelay, meterRegistry)
+                : storage;
+    }
+}
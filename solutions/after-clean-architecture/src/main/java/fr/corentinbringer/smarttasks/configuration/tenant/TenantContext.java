@@ -1,18 +1,67 @@
 package fr.corentinbringer.smarttasks.configuration.tenant;
 
-public class TenantContext {
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
-    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+/**
+ * Tenant of the current unit of work. The tenant is bound with a {@link ScopedValue} for the extent
+ * of {@link #runWithTenant} / {@link #callWithTenant}: it cannot leak to the next request on a pooled
+ * thread and costs nothing per virtual thread. {@link #setTenant} keeps a {@link ThreadLocal} fallback
+ * for code that cannot be expressed as a scope.
+ * <p>
+ * Neither is inherited by other threads: tasks handed to executors must go through {@link #wrap} or
+ * a {@link #propagating} executor (see {@code TenantTaskDecorator} for Spring's executors).
+ */
+public final class TenantContext {
 
-    public static void setTenant(String tenant) {
-        CURRENT.set(tenant);
+    private static final ScopedValue<String> SCOPED = ScopedValue.newInstance();
+    private static final ThreadLocal<String> FALLBACK = new ThreadLocal<>();
+
+    private TenantContext() {
     }
 
     public static String getTenant() {
-        return CURRENT.get();
+        return SCOPED.isBound() ? SCOPED.get() : FALLBACK.get();
+    }
+
+    public static void runWithTenant(String tenantId, Runnable action) {
+        ScopedValue.where(SCOPED, tenantId).run(action);
+    }
+
+    /**
+     * Like {@link #runWithTenant} but returns the result and rethrows the checked exception of {@code action}.
+     */
+    public static <T, X extends Exception> T callWithTenant(String tenantId, TenantCallable<T, X> action) throws X {
+        return ScopedValue.where(SCOPED, tenantId).call(action::call);
+    }
+
+    public static Runnable wrap(Runnable task) {
+        String tenantId = getTenant();
+        return tenantId == null ? task : () -> runWithTenant(tenantId, task);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        String tenantId = getTenant();
+        return tenantId == null ? task : () -> callWithTenant(tenantId, task::call);
+    }
+
+    /**
+     * An executor that runs every task with the tenant of the thread that submitted it.
+     */
+    public static Executor propagating(Executor delegate) {
+        return task -> delegate.execute(wrap(task));
+    }
+
+    public static void setTenant(String tenant) {
+        FALLBACK.set(tenant);
     }
 
     public static void clear() {
-        CURRENT.remove();
+        FALLBACK.remove();
+    }
+
+    @FunctionalInterface
+    public interface TenantCallable<T, X extends Exception> {
+        T call() throws X;
     }
 }
@@ -26,6 +26,12 @@ public class TenantFilter extends OncePerRequestFilter {
                 || path.equals("/error");
     }
 
+    // Async dispatches run on another thread and need the tenant bound again
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
             throws ServletException, IOException {
@@ -41,11 +47,16 @@ public class TenantFilter extends OncePerRequestFilter {
             return;
         }
 
-        TenantContext.setTenant(tenantId);
+        // Bound for the extent of the chain only, so nothing survives on the pooled thread
         try {
-            chain.doFilter(req, res);
-        } finally {
-            TenantContext.clear();
+            TenantContext.callWithTenant(tenantId, () -> {
+                chain.doFilter(req, res);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
         }
     }
 }
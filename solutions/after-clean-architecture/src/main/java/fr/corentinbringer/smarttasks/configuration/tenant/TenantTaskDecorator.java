@@ -0,0 +1,17 @@
+package fr.corentinbringer.smarttasks.configuration.tenant;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picked up by Boot's task executor and scheduler auto-configuration, so {@code @Async} methods and
+ * async MVC handlers see the tenant of the request that started them.
+ */
+@Component
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
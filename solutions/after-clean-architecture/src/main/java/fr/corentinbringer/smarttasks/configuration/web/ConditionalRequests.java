@@ -0,0 +1,29 @@
+package fr.corentinbringer.smarttasks.configuration.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET for API responses that may be stored by the client but must be revalidated on each use.
+ */
+public final class ConditionalRequests {
+
+    // Also keeps Spring Security from adding its default no-store
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Sets the strong {@code etag} and revalidation headers on the response. Returns {@code true} when the
+     * client's copy is current: the status is already 304 and the handler should return {@code null}.
+     */
+    public static boolean isNotModified(WebRequest request, String etag) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        return request.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,23 @@
+package fr.corentinbringer.smarttasks.dashboard.application.port.out;
+
+import fr.corentinbringer.smarttasks.dashboard.application.readmodel.DashboardSnapshot;
+import fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DashboardPort {
+
+    /**
+     * Loads every dashboard figure of a tenant in a single database round trip.
+     */
+    DashboardSnapshot loadSnapshot(String tenantId, LocalDate today, int latestProjectsLimit);
+
+    long countProjects(String tenantId);
+
+    long countTasks(String tenantId);
+
+    long countOverdueTasks(String tenantId, LocalDate today);
+
+    List<ProjectSummary> findLatestProjects(String tenantId, int limit);
+}
@@ -0,0 +1,19 @@
+package fr.corentinbringer.smarttasks.dashboard.application.port.out;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface TenantStatsPort {
+
+    void addProjects(String tenantId, long count);
+
+    void addTasks(String tenantId, long count, Map<LocalDate, Long> openTasksByDueDate);
+
+    List<String> findAllTenantIds();
+
+    /**
+     * Recomputes the counters of a tenant from {@code projects} and {@code tasks}.
+     */
+    void rebuild(String tenantId);
+}
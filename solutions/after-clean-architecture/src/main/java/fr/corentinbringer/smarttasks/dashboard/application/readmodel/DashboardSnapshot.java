@@ -0,0 +1,12 @@
+package fr.corentinbringer.smarttasks.dashboard.application.readmodel;
+
+import fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary;
+
+import java.util.List;
+
+public record DashboardSnapshot(
+        long activeProjectsCount,
+        long totalTasksCount,
+        long overdueTasksCount,
+        List<ProjectSummary> latestProjects
+) {}
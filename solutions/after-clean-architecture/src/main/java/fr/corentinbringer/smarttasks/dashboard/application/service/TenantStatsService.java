@@ -0,0 +1,45 @@
+package fr.corentinbringer.smarttasks.dashboard.application.service;
+
+import fr.corentinbringer.smarttasks.dashboard.application.port.out.TenantStatsPort;
+import fr.corentinbringer.smarttasks.dashboard.domain.event.TenantStatsRebuiltEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.ProjectCreatedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.TaskCreatedEvent;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Keeps {@code tenant_stats} in step with creations. The listeners are synchronous, so the counters
+ * are written in the transaction of {@code ProjectService.create} / {@code TaskService.create}.
+ */
+@Service
+@RequiredArgsConstructor
+public class TenantStatsService {
+
+    private final TenantStatsPort tenantStatsPort;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @EventListener
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        tenantStatsPort.addProjects(event.tenantId(), 1);
+    }
+
+    @EventListener
+    public void onTaskCreated(TaskCreatedEvent event) {
+        tenantStatsPort.addTasks(event.tenantId(), event.count(), event.openTasksByDueDate());
+    }
+
+    public List<String> findAllTenantIds() {
+        return tenantStatsPort.findAllTenantIds();
+    }
+
+    @Transactional
+    public void rebuild(String tenantId) {
+        tenantStatsPort.rebuild(tenantId);
+        eventPublisher.publishEvent(new TenantStatsRebuiltEvent(tenantId));
+    }
+}
@@ -0,0 +1,8 @@
+package fr.corentinbringer.smarttasks.dashboard.domain.event;
+
+/**
+ * The counters of {@code tenantId} were recomputed, and may have changed without any create.
+ */
+public record TenantStatsRebuiltEvent(
+        String tenantId
+) {}
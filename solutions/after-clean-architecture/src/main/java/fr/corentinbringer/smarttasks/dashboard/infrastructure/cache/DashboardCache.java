@@ -0,0 +1,66 @@
+package fr.corentinbringer.smarttasks.dashboard.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.corentinbringer.smarttasks.dashboard.domain.event.TenantStatsRebuiltEvent;
+import fr.corentinbringer.smarttasks.dashboard.infrastructure.web.model.DashboardResponse;
+import fr.corentinbringer.smarttasks.project.domain.event.ProjectCreatedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.TaskCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard responses per tenant. The day is part of the key because the overdue count changes at
+ * midnight; entries of the current day are dropped once a create or a rebuild of the counters of the
+ * same tenant has committed.
+ */
+@Component
+public class DashboardCache {
+
+    private record Key(String tenantId, LocalDate day) {}
+
+    private final Cache<Key, DashboardResponse> responses;
+
+    public DashboardCache(@Value("${smarttasks.cache.dashboard.maximum-size:10000}") long maximumSize,
+                          @Value("${smarttasks.cache.dashboard.ttl:30s}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "dashboard");
+    }
+
+    public DashboardResponse get(String tenantId, LocalDate today, Supplier<DashboardResponse> loader) {
+        return responses.get(new Key(tenantId, today), key -> loader.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        evict(event.tenantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskCreated(TaskCreatedEvent event) {
+        evict(event.tenantId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantStatsRebuilt(TenantStatsRebuiltEvent event) {
+        evict(event.tenantId());
+    }
+
+    // A load running for the same key completes before the entry is removed, so no stale value survives
+    private void evict(String tenantId) {
+        responses.invalidate(new Key(tenantId, LocalDate.now()));
+    }
+}
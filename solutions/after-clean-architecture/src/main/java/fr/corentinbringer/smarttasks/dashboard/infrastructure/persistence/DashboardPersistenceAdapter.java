@@ -0,0 +1,127 @@
+package fr.corentinbringer.smarttasks.dashboard.infrastructure.persistence;
+
+import fr.corentinbringer.smarttasks.dashboard.application.port.out.DashboardPort;
+import fr.corentinbringer.smarttasks.dashboard.application.readmodel.DashboardSnapshot;
+import fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class DashboardPersistenceAdapter implements DashboardPort {
+
+    // Counters come from tenant_stats and the due-date buckets; latest projects are left-joined so an
+    // empty tenant still yields one row
+    private static final String DASHBOARD_QUERY = """
+            WITH stats AS (
+                SELECT projects_count, tasks_count
+                FROM tenant_stats
+                WHERE tenant_id = :tenantId
+            ),
+            overdue AS (
+                SELECT coalesce(sum(open_count), 0) AS overdue_count
+                FROM tenant_task_due_buckets
+                WHERE tenant_id = :tenantId
+                  AND due_date < :today
+            ),
+            latest_projects AS (
+                SELECT id, name, created_on
+                FROM projects
+                WHERE tenant_id = :tenantId
+                ORDER BY created_on DESC, id DESC
+                LIMIT :limit
+            )
+            SELECT coalesce(s.projects_count, 0) AS projects_count,
+                   coalesce(s.tasks_count, 0) AS tasks_count,
+                   o.overdue_count,
+                   lp.id, lp.name, lp.created_on
+            FROM overdue o
+            LEFT JOIN stats s ON true
+            LEFT JOIN latest_projects lp ON true
+            ORDER BY lp.created_on DESC, lp.id DESC
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public DashboardSnapshot loadSnapshot(String tenantId, LocalDate today, int latestProjectsLimit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("today", today)
+                .addValue("limit", latestProjectsLimit);
+
+        return jdbcTemplate.query(DASHBOARD_QUERY, parameters, rs -> {
+            long projectsCount = 0;
+            long tasksCount = 0;
+            long overdueCount = 0;
+            List<ProjectSummary> latestProjects = new ArrayList<>(latestProjectsLimit);
+
+            while (rs.next()) {
+                projectsCount = rs.getLong("projects_count");
+                tasksCount = rs.getLong("tasks_count");
+                overdueCount = rs.getLong("overdue_count");
+
+                rs.getLong("id");
+                if (!rs.wasNull()) {
+                    latestProjects.add(mapProject(rs));
+                }
+            }
+
+            return new DashboardSnapshot(projectsCount, tasksCount, overdueCount, latestProjects);
+        });
+    }
+
+    @Override
+    public long countProjects(String tenantId) {
+        return count("SELECT coalesce(max(projects_count), 0) FROM tenant_stats WHERE tenant_id = :tenantId",
+                new MapSqlParameterSource("tenantId", tenantId));
+    }
+
+    @Override
+    public long countTasks(String tenantId) {
+        return count("SELECT coalesce(max(tasks_count), 0) FROM tenant_stats WHERE tenant_id = :tenantId",
+                new MapSqlParameterSource("tenantId", tenantId));
+    }
+
+    @Override
+    public long countOverdueTasks(String tenantId, LocalDate today) {
+        return count("""
+                SELECT coalesce(sum(open_count), 0)
+                FROM tenant_task_due_buckets
+                WHERE tenant_id = :tenantId
+                  AND due_date < :today
+                """, new MapSqlParameterSource("tenantId", tenantId).addValue("today", today));
+    }
+
+    @Override
+    public List<ProjectSummary> findLatestProjects(String tenantId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, name, created_on
+                FROM projects
+                WHERE tenant_id = :tenantId
+                ORDER BY created_on DESC, id DESC
+                LIMIT :limit
+                """, new MapSqlParameterSource("tenantId", tenantId).addValue("limit", limit), (rs, rowNum) -> mapProject(rs));
+    }
+
+    private long count(String sql, MapSqlParameterSource parameters) {
+        Long count = jdbcTemplate.queryForObject(sql, parameters, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private ProjectSummary mapProject(ResultSet rs) throws SQLException {
+        return new ProjectSummary(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getTimestamp("created_on").toLocalDateTime()
+        );
+    }
+}
@@ -0,0 +1,88 @@
+package fr.corentinbringer.smarttasks.dashboard.infrastructure.persistence;
+
+import fr.corentinbringer.smarttasks.dashboard.application.port.out.TenantStatsPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Every write locks the tenant's {@code tenant_stats} row first, so increments and rebuilds of the
+ * same tenant are serialized until commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantStatsPersistenceAdapter implements TenantStatsPort {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addProjects(String tenantId, long count) {
+        jdbcTemplate.update("""
+                INSERT INTO tenant_stats (tenant_id, projects_count) VALUES (?, ?)
+                ON CONFLICT (tenant_id) DO UPDATE SET projects_count = tenant_stats.projects_count + EXCLUDED.projects_count
+                """, tenantId, count);
+    }
+
+    @Override
+    public void addTasks(String tenantId, long count, Map<LocalDate, Long> openTasksByDueDate) {
+        jdbcTemplate.update("""
+                INSERT INTO tenant_stats (tenant_id, tasks_count) VALUES (?, ?)
+                ON CONFLICT (tenant_id) DO UPDATE SET tasks_count = tenant_stats.tasks_count + EXCLUDED.tasks_count
+                """, tenantId, count);
+
+        if (openTasksByDueDate.isEmpty()) {
+            return;
+        }
+
+        // Sorted so that concurrent transactions lock the buckets in the same order
+        List<Object[]> buckets = new TreeMap<>(openTasksByDueDate).entrySet().stream()
+                .map(bucket -> new Object[]{tenantId, Date.valueOf(bucket.getKey()), bucket.getValue()})
+                .toList();
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO tenant_task_due_buckets (tenant_id, due_date, open_count) VALUES (?, ?, ?)
+                ON CONFLICT (tenant_id, due_date) DO UPDATE SET open_count = tenant_task_due_buckets.open_count + EXCLUDED.open_count
+                """, buckets);
+    }
+
+    @Override
+    public List<String> findAllTenantIds() {
+        return jdbcTemplate.queryForList("""
+                SELECT tenant_id FROM tenant_stats
+                UNION
+                SELECT DISTINCT tenant_id FROM projects
+                """, String.class);
+    }
+
+    @Override
+    public void rebuild(String tenantId) {
+        jdbcTemplate.update("INSERT INTO tenant_stats (tenant_id) VALUES (?) ON CONFLICT (tenant_id) DO NOTHING", tenantId);
+
+        // Wait for in-flight creates of this tenant; the counts below are read after they commit
+        jdbcTemplate.queryForList("SELECT tenant_id FROM tenant_stats WHERE tenant_id = ? FOR UPDATE", tenantId);
+
+        jdbcTemplate.update("""
+                UPDATE tenant_stats
+                SET projects_count = (SELECT count(*) FROM projects WHERE tenant_id = ?),
+                    tasks_count    = (SELECT count(*) FROM tasks WHERE tenant_id = ?)
+                WHERE tenant_id = ?
+                """, tenantId, tenantId, tenantId);
+
+        jdbcTemplate.update("DELETE FROM tenant_task_due_buckets WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("""
+                INSERT INTO tenant_task_due_buckets (tenant_id, due_date, open_count)
+                SELECT tenant_id, due_date, count(*)
+                FROM tasks
+                WHERE tenant_id = ?
+                  AND completed = false
+                  AND due_date IS NOT NULL
+                GROUP BY tenant_id, due_date
+                """, tenantId);
+    }
+}
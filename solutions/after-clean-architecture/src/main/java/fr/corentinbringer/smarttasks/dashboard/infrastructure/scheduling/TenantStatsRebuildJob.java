@@ -0,0 +1,36 @@
+package fr.corentinbringer.smarttasks.dashboard.infrastructure.scheduling;
+
+import fr.corentinbringer.smarttasks.dashboard.application.service.TenantStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Corrects any drift of the tenant counters (manual SQL, failed migrations...). Each tenant is
+ * rebuilt in its own short transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TenantStatsRebuildJob {
+
+    private final TenantStatsService tenantStatsService;
+
+    @Scheduled(cron = "${smarttasks.dashboard.stats.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        List<String> tenantIds = tenantStatsService.findAllTenantIds();
+
+        for (String tenantId : tenantIds) {
+            try {
+                tenantStatsService.rebuild(tenantId);
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild stats of tenant {}", tenantId, e);
+            }
+        }
+
+        log.info("Rebuilt stats of {} tenants", tenantIds.size());
+    }
+}
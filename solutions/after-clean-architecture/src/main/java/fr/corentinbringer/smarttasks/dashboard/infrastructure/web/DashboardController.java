@@ -1,5 +1,6 @@
 package fr.corentinbringer.smarttasks.dashboard.infrastructure.web;
 
+import fr.corentinbringer.smarttasks.configuration.web.ConditionalRequests;
 import fr.corentinbringer.smarttasks.dashboard.infrastructure.web.model.DashboardResponse;
 import fr.corentinbringer.smarttasks.dashboard.application.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -22,7 +24,10 @@ public class DashboardController {
             description = "Retrieve the total number of active projects, total tasks, and overdue tasks, as well as the latest projects."
     )
     @GetMapping
-    public DashboardResponse getDashboardMetrics() {
+    public DashboardResponse getDashboardMetrics(WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, dashboardService.findETag())) {
+            return null;
+        }
         return dashboardService.getDashboardData();
     }
 }
@@ -1,8 +1,11 @@
 package fr.corentinbringer.smarttasks.exception;
 
+import fr.corentinbringer.smarttasks.project.infrastructure.web.upload.MalformedMultipartException;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.upload.UploadTooLargeException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.UnsatisfiedServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -56,6 +59,43 @@ public class ApiExceptionHandler {
         );
     }
 
+    /**
+     * 400 - Query parameters matching no mapping, such as a cursor combined with page, sort or count
+     */
+    @ExceptionHandler(UnsatisfiedServletRequestParameterException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleConflictingParameters(UnsatisfiedServletRequestParameterException ex) {
+        return Map.of(
+                "error", "Conflicting query parameters",
+                "allowed", String.join(" OR ", ex.getParamConditionGroups().stream()
+                        .map(conditions -> String.join(", ", conditions))
+                        .toList())
+        );
+    }
+
+    /**
+     * 413 - Upload over the file or request size limit
+     */
+    @ExceptionHandler(UploadTooLargeException.class)
+    @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+    public Map<String, String> handleUploadTooLarge(UploadTooLargeException ex) {
+        return Map.of(
+                "error", "Upload too large",
+                "maxSize", String.valueOf(ex.getPermitted())
+        );
+    }
+
+    /**
+     * 400 - Malformed multipart body
+     */
+    @ExceptionHandler(MalformedMultipartException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleMalformedUpload(MalformedMultipartException ex) {
+        return Map.of(
+                "error", "Malformed upload"
+        );
+    }
+
     /**
      * 500 - Generic server error
      */
@@ -0,0 +1,20 @@
+package fr.corentinbringer.smarttasks.project.application.port.out;
+
+import fr.corentinbringer.smarttasks.project.application.readmodel.AttachmentSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Read side of attachments: list views get flat projections instead of managed entities.
+ */
+public interface AttachmentReadPort {
+
+    Page<AttachmentSummary> findAllByTaskIdAndTenantId(Long taskId, String tenantId, Pageable pageable);
+
+    Slice<AttachmentSummary> findSliceByTaskIdAndTenantId(Long taskId, String tenantId, Pageable pageable);
+
+    List<AttachmentSummary> findAllByTaskIdAndTenantIdAfter(Long taskId, String tenantId, Cursor after, int limit);
+}
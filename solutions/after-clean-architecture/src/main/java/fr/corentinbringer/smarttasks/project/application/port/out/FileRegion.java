@@ -0,0 +1,16 @@
+package fr.corentinbringer.smarttasks.project.application.port.out;
+
+import java.nio.file.Path;
+
+/**
+ * Stored content that is a region of a local file. The web layer can hand it to the servlet
+ * container to be sent straight from the file instead of being copied through the JVM.
+ */
+public interface FileRegion {
+
+    Path file();
+
+    long position();
+
+    long count();
+}
@@ -1,12 +1,20 @@
 package fr.corentinbringer.smarttasks.project.application.port.out;
 
-import org.springframework.web.multipart.MultipartFile;
-
 import java.io.InputStream;
 
 public interface FileStoragePort {
 
-    String uploadFile(MultipartFile file) throws Exception;
+    /**
+     * Stores {@code content} under a new key, read to the end as it arrives; its length is not known in advance.
+     */
+    String uploadFile(InputStream content, String contentType) throws Exception;
 
     InputStream downloadFile(String objectKey) throws Exception;
+
+    /**
+     * Reads {@code length} bytes starting at {@code offset}; nothing else is fetched from storage.
+     */
+    InputStream downloadFile(String objectKey, long offset, long length) throws Exception;
+
+    void deleteFile(String objectKey) throws Exception;
 }
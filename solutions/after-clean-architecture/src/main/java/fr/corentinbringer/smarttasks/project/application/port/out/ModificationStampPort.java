@@ -0,0 +1,24 @@
+package fr.corentinbringer.smarttasks.project.application.port.out;
+
+public interface ModificationStampPort {
+
+    /**
+     * The tasks of a project and the attachments of a task have their parent's id; the others
+     * {@link #NO_PARENT}.
+     */
+    enum Collection { PROJECTS, TASKS, ATTACHMENTS, DASHBOARD }
+
+    long NO_PARENT = 0L;
+
+    void touch(String tenantId, Collection collection, long parentId);
+
+    /**
+     * @return the current stamp, or 0 if the collection was never written to
+     */
+    long findStamp(String tenantId, Collection collection, long parentId);
+
+    /**
+     * @return a value that changes whenever any collection of the tenant does
+     */
+    long findTenantStamp(String tenantId);
+}
@@ -0,0 +1,22 @@
+package fr.corentinbringer.smarttasks.project.application.port.out;
+
+import fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Read side of projects: list views get flat projections instead of managed entities.
+ */
+public interface ProjectReadPort {
+
+    Page<ProjectSummary> findAll(String tenantId, Pageable pageable);
+
+    Slice<ProjectSummary> findSlice(String tenantId, Pageable pageable);
+
+    List<ProjectSummary> findAllAfter(String tenantId, Cursor after, int limit);
+
+    List<ProjectSummary> findLatestProjectsByTenantId(String tenantId, int limit);
+}
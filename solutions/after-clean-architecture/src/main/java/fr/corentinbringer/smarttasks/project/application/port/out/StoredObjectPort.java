@@ -0,0 +1,46 @@
+package fr.corentinbringer.smarttasks.project.application.port.out;
+
+import java.util.List;
+
+/**
+ * Reference counts of stored objects, one per attachment pointing to them. Identical content is
+ * shared through its content key while the object is referenced; a row stays at {@code 0} references
+ * until its object has been deleted from storage, and is never referenced again meanwhile.
+ */
+public interface StoredObjectPort {
+
+    /**
+     * References the object holding {@code contentKey}, or tracks {@code objectKey} as that object when
+     * none is referenced yet.
+     *
+     * @return the key of the object referenced, {@code objectKey} when it was not stored yet
+     */
+    String addReference(String tenantId, String contentKey, String objectKey, long size);
+
+    /**
+     * @return the number of references left
+     */
+    long removeReference(String objectKey);
+
+    /**
+     * @return whether a row tracks the object, referenced or waiting to be deleted
+     */
+    boolean isTracked(String objectKey);
+
+    /**
+     * Locks the object's row if it has no reference left, so its deletion runs only once.
+     *
+     * @return {@code false} when it is still referenced, or already forgotten
+     */
+    boolean lockUnreferenced(String objectKey);
+
+    /**
+     * Forgets an object that has no reference left.
+     */
+    void deleteUnreferenced(String objectKey);
+
+    /**
+     * @return keys of objects left without references, at most {@code limit} of them
+     */
+    List<String> findUnreferenced(int limit);
+}
@@ -0,0 +1,11 @@
+package fr.corentinbringer.smarttasks.project.application.port.out;
+
+import java.util.stream.Stream;
+
+public interface TaskImportPort {
+
+    /**
+     * Loads the rows as they are consumed from the stream and returns how many were inserted.
+     */
+    long importAll(String tenantId, Long projectId, Stream<TaskImportRow> rows);
+}
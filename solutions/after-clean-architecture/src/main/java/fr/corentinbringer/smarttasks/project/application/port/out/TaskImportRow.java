@@ -0,0 +1,12 @@
+package fr.corentinbringer.smarttasks.project.application.port.out;
+
+import java.time.LocalDate;
+
+/**
+ * A validated imported task: tenant, project and creation date are filled by the database.
+ */
+public record TaskImportRow(
+        String title,
+        String description,
+        LocalDate dueDate
+) {}
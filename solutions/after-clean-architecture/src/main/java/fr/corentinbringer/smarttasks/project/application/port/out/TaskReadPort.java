@@ -0,0 +1,27 @@
+package fr.corentinbringer.smarttasks.project.application.port.out;
+
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskExportRow;
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read side of tasks: list views get flat projections instead of managed entities.
+ */
+public interface TaskReadPort {
+
+    Page<TaskSummary> findAllByProjectIdAndTenantId(Long projectId, String tenantId, Pageable pageable);
+
+    Slice<TaskSummary> findSliceByProjectIdAndTenantId(Long projectId, String tenantId, Pageable pageable);
+
+    List<TaskSummary> findAllByProjectIdAndTenantIdAfter(Long projectId, String tenantId, Cursor after, int limit);
+
+    /**
+     * Rows are fetched from the database in chunks as the stream is consumed. Must be closed, inside a transaction.
+     */
+    Stream<TaskExportRow> streamAllByProjectIdAndTenantId(Long projectId, String tenantId);
+}
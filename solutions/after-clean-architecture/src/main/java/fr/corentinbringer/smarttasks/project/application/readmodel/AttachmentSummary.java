@@ -0,0 +1,11 @@
+package fr.corentinbringer.smarttasks.project.application.readmodel;
+
+import java.time.LocalDateTime;
+
+public record AttachmentSummary(
+        Long id,
+        String originalName,
+        String mimeType,
+        long size,
+        LocalDateTime uploadedOn
+) {}
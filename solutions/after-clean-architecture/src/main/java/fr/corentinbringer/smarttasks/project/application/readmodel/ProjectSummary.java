@@ -0,0 +1,9 @@
+package fr.corentinbringer.smarttasks.project.application.readmodel;
+
+import java.time.LocalDateTime;
+
+public record ProjectSummary(
+        Long id,
+        String name,
+        LocalDateTime createdOn
+) {}
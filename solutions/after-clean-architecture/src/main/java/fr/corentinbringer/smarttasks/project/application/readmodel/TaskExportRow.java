@@ -0,0 +1,13 @@
+package fr.corentinbringer.smarttasks.project.application.readmodel;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TaskExportRow(
+        Long id,
+        String title,
+        String description,
+        LocalDate dueDate,
+        boolean completed,
+        LocalDateTime createdOn
+) {}
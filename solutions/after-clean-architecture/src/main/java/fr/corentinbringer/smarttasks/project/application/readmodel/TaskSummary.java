@@ -0,0 +1,13 @@
+package fr.corentinbringer.smarttasks.project.application.readmodel;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TaskSummary(
+        Long id,
+        String title,
+        String descriptionPreview,
+        LocalDate dueDate,
+        boolean completed,
+        LocalDateTime createdOn
+) {}
@@ -2,21 +2,31 @@ package fr.corentinbringer.smarttasks.project.application.service;
 
 import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
 import fr.corentinbringer.smarttasks.project.application.port.out.AttachmentPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.AttachmentReadPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.Cursor;
 import fr.corentinbringer.smarttasks.project.application.port.out.FileStoragePort;
+import fr.corentinbringer.smarttasks.project.application.readmodel.AttachmentSummary;
 import fr.corentinbringer.smarttasks.project.domain.model.Attachment;
-import fr.corentinbringer.smarttasks.project.domain.model.Task;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.AttachmentResponse;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.CursorPageResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.DownloadResult;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 @Service
@@ -24,8 +34,11 @@ import java.util.NoSuchElementException;
 public class AttachmentService {
 
     private final AttachmentPort attachmentPort;
+    private final AttachmentReadPort attachmentReadPort;
     private final TaskService taskService;
+    private final ModificationStampService modificationStampService;
 
+    private final StoredObjectService storedObjectService;
     private final FileStoragePort fileStoragePort;
 
     private AttachmentResponse mapToResponse(Attachment attachment) {
@@ -38,63 +51,137 @@ public class AttachmentService {
         );
     }
 
+    private AttachmentResponse mapToResponse(AttachmentSummary attachment) {
+        return new AttachmentResponse(
+                attachment.id(),
+                attachment.originalName(),
+                attachment.mimeType(),
+                attachment.size(),
+                "/api/attachments/" + attachment.id() + "/download"
+        );
+    }
+
+    public String listETag(Long taskId) {
+        taskService.checkExists(taskId);
+        return "task-" + taskId + "-attachments-" + modificationStampService.attachmentsStamp(taskId);
+    }
+
     @Transactional
     public Page<AttachmentResponse> findAllByTaskId(Long taskId, Pageable pageable) {
-        Task task = taskService.findById(taskId);
+        taskService.checkExists(taskId);
 
-        return attachmentPort.findAllByTaskIdAndTenantId(task.id(), TenantContext.getTenant(), pageable)
+        return attachmentReadPort.findAllByTaskIdAndTenantId(taskId, TenantContext.getTenant(), pageable)
                 .map(this::mapToResponse);
     }
 
     @Transactional
-    public AttachmentResponse create(Long taskId, MultipartFile file) {
-        if (file.isEmpty()) {
-            throw new NoSuchElementException("File is empty");
-        }
+    public Slice<AttachmentResponse> findSliceByTaskId(Long taskId, Pageable pageable) {
+        taskService.checkExists(taskId);
+
+        return attachmentReadPort.findSliceByTaskIdAndTenantId(taskId, TenantContext.getTenant(), pageable)
+                .map(this::mapToResponse);
+    }
+
+    @Transactional
+    public CursorPageResponse<AttachmentResponse> findAllByTaskId(Long taskId, String cursor, int size) {
+        int pageSize = CursorPageResponse.checkSize(size);
+        taskService.checkExists(taskId);
+
+        List<AttachmentSummary> attachments = attachmentReadPort.findAllByTaskIdAndTenantIdAfter(
+                taskId, TenantContext.getTenant(), Cursor.decode(cursor), pageSize + 1);
+
+        return CursorPageResponse.of(attachments, pageSize, attachment -> new Cursor(attachment.uploadedOn(), attachment.id()), this::mapToResponse);
+    }
 
+    /**
+     * Streams {@code content} to storage as it is read from the request, hashing it on the way. No
+     * transaction is held during the transfer, which lasts as long as the client takes to send the
+     * file; content the tenant already stored is then dropped instead of being kept twice, and new
+     * content stays where it was streamed to.
+     */
+    public AttachmentResponse create(Long taskId, String originalName, String contentType, InputStream content) throws IOException {
         String tenantId = TenantContext.getTenant();
-        Task task = taskService.findById(taskId);
+        taskService.checkExists(taskId);
+
+        PushbackInputStream peekable = new PushbackInputStream(content);
+        int firstByte = peekable.read();
+        if (firstByte < 0) {
+            throw new NoSuchElementException("File is empty");
+        }
+        peekable.unread(firstByte);
+        MessageDigest digest = sha256();
+        CountingInputStream counted = new CountingInputStream(new DigestInputStream(peekable, digest));
 
         try {
-            String objectKey = fileStoragePort.uploadFile(file);
+            String stagedKey = fileStoragePort.uploadFile(counted, contentType);
 
             Attachment attachment = new Attachment(
                     null,
                     tenantId,
-                    objectKey,
-                    file.getOriginalFilename(),
-                    file.getContentType(),
-                    file.getSize(),
+                    stagedKey,
+                    originalName,
+                    contentType,
+                    counted.count(),
                     LocalDateTime.now(),
-                    task.id()
+                    taskId
             );
 
-            Attachment savedAttachment = attachmentPort.save(attachment);
-
-            return mapToResponse(savedAttachment);
+            // A staged upload left unreferenced is deleted once attach's transaction completes
+            return mapToResponse(storedObjectService.attach(attachment, contentKey(tenantId, digest.digest())));
 
+        } catch (IOException e) {
+            // Reading the request failed (size limit, malformed body, client gone): not a storage error
+            throw e;
         } catch (Exception e) {
             throw new NoSuchElementException("Attachment upload failed", e);
         }
     }
 
+    public void delete(Long attachmentId) {
+        storedObjectService.detach(attachmentId, TenantContext.getTenant());
+    }
+
     public DownloadResult download(Long attachmentId) {
         String tenantId = TenantContext.getTenant();
 
         Attachment attachment = attachmentPort.findByIdAndTenantId(attachmentId, tenantId)
                 .orElseThrow(() -> new NoSuchElementException("Attachment not found"));
 
-        try {
-            InputStream is = fileStoragePort.downloadFile(attachment.objectKey());
+        return new DownloadResult(
+                (offset, length) -> openContent(attachment, offset, length),
+                attachment.originalName(),
+                attachment.mimeType(),
+                attachment.size(),
+                "attachment-" + attachment.id(),
+                attachment.uploadedOn()
+        );
+    }
 
-            return new DownloadResult(
-                    new InputStreamResource(is),
-                    attachment.originalName(),
-                    attachment.mimeType(),
-                    attachment.size()
-            );
+    private InputStream openContent(Attachment attachment, long offset, long length) {
+        try {
+            if (offset == 0 && length == attachment.size()) {
+                return fileStoragePort.downloadFile(attachment.objectKey());
+            }
+            return fileStoragePort.downloadFile(attachment.objectKey(), offset, length);
         } catch (Exception e) {
             throw new NoSuchElementException("Attachment download failed", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Content-addressed within the tenant: its identical uploads share one object, while whether
+     * another tenant stored the same content can't be probed.
+     */
+    private static String contentKey(String tenantId, byte[] contentDigest) {
+        byte[] tenantDigest = sha256().digest(tenantId.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(tenantDigest, 0, 16) + "/" + HexFormat.of().formatHex(contentDigest);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package fr.corentinbringer.smarttasks.project.application.service;
+
+import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
+import fr.corentinbringer.smarttasks.dashboard.domain.event.TenantStatsRebuiltEvent;
+import fr.corentinbringer.smarttasks.project.application.port.out.ModificationStampPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.ModificationStampPort.Collection;
+import fr.corentinbringer.smarttasks.project.domain.event.AttachmentCreatedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.AttachmentDeletedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.ProjectCreatedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.TaskCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-tenant stamps of the project, task and attachment lists and of the dashboard counters, used as
+ * ETags. The listeners are synchronous, so a stamp changes in the same transaction as the write it
+ * reflects.
+ */
+@Service
+@RequiredArgsConstructor
+public class ModificationStampService {
+
+    private final ModificationStampPort modificationStampPort;
+
+    @EventListener
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        modificationStampPort.touch(event.tenantId(), Collection.PROJECTS, ModificationStampPort.NO_PARENT);
+    }
+
+    @EventListener
+    public void onTaskCreated(TaskCreatedEvent event) {
+        modificationStampPort.touch(event.tenantId(), Collection.TASKS, event.projectId());
+    }
+
+    @EventListener
+    public void onAttachmentCreated(AttachmentCreatedEvent event) {
+        modificationStampPort.touch(event.tenantId(), Collection.ATTACHMENTS, event.taskId());
+    }
+
+    @EventListener
+    public void onAttachmentDeleted(AttachmentDeletedEvent event) {
+        modificationStampPort.touch(event.tenantId(), Collection.ATTACHMENTS, event.taskId());
+    }
+
+    // Creates already change the tenant stamp; a rebuild may change the counters without any
+    @EventListener
+    public void onTenantStatsRebuilt(TenantStatsRebuiltEvent event) {
+        modificationStampPort.touch(event.tenantId(), Collection.DASHBOARD, ModificationStampPort.NO_PARENT);
+    }
+
+    public long projectsStamp() {
+        return modificationStampPort.findStamp(TenantContext.getTenant(), Collection.PROJECTS, ModificationStampPort.NO_PARENT);
+    }
+
+    public long tasksStamp(Long projectId) {
+        return modificationStampPort.findStamp(TenantContext.getTenant(), Collection.TASKS, projectId);
+    }
+
+    public long attachmentsStamp(Long taskId) {
+        return modificationStampPort.findStamp(TenantContext.getTenant(), Collection.ATTACHMENTS, taskId);
+    }
+
+    public long tenantStamp() {
+        return modificationStampPort.findTenantStamp(TenantContext.getTenant());
+    }
+}
@@ -1,15 +1,22 @@
 package fr.corentinbringer.smarttasks.project.application.service;
 
 import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
+import fr.corentinbringer.smarttasks.project.application.port.out.Cursor;
 import fr.corentinbringer.smarttasks.project.application.port.out.ProjectPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.ProjectReadPort;
+import fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary;
+import fr.corentinbringer.smarttasks.project.domain.event.ProjectCreatedEvent;
 import fr.corentinbringer.smarttasks.project.domain.model.Project;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.CursorPageResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.ProjectCreateRequest;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.ProjectListResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.ProjectResponse;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -22,19 +29,38 @@ import java.util.stream.Collectors;
 public class ProjectService {
 
     private final ProjectPort projectPort;
+    private final ProjectReadPort projectReadPort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ModificationStampService modificationStampService;
 
     private ProjectResponse mapToResponse(Project project) {
         return new ProjectResponse(project.id(), project.name(), project.createdOn());
     }
 
-    private ProjectListResponse mapToListResponse(Project project) {
+    private ProjectListResponse mapToListResponse(ProjectSummary project) {
         return new ProjectListResponse(project.id(), project.name(), project.createdOn());
     }
 
     @Transactional
     public Page<ProjectListResponse> findAll(Pageable pageable) {
         String tenantId = TenantContext.getTenant();
-        return projectPort.findAll(tenantId, pageable).map(this::mapToListResponse);
+        return projectReadPort.findAll(tenantId, pageable).map(this::mapToListResponse);
+    }
+
+    @Transactional
+    public Slice<ProjectListResponse> findSlice(Pageable pageable) {
+        String tenantId = TenantContext.getTenant();
+        return projectReadPort.findSlice(tenantId, pageable).map(this::mapToListResponse);
+    }
+
+    @Transactional
+    public CursorPageResponse<ProjectListResponse> findAll(String cursor, int size) {
+        int pageSize = CursorPageResponse.checkSize(size);
+        String tenantId = TenantContext.getTenant();
+
+        List<ProjectSummary> projects = projectReadPort.findAllAfter(tenantId, Cursor.decode(cursor), pageSize + 1);
+
+        return CursorPageResponse.of(projects, pageSize, project -> new Cursor(project.createdOn(), project.id()), this::mapToListResponse);
     }
 
     @Transactional
@@ -44,6 +70,7 @@ public class ProjectService {
         Project newProject = new Project(null, tenantId, request.name(), LocalDateTime.now());
 
         Project savedProject = projectPort.save(newProject);
+        eventPublisher.publishEvent(new ProjectCreatedEvent(tenantId, savedProject.id()));
 
         return mapToResponse(savedProject);
     }
@@ -53,6 +80,22 @@ public class ProjectService {
                 .orElseThrow(() -> new NoSuchElementException("Project not found"));
     }
 
+    public void checkExists(Long projectId) {
+        if (!projectPort.existsByIdAndTenantId(projectId, TenantContext.getTenant())) {
+            throw new NoSuchElementException("Project not found");
+        }
+    }
+
+    public String findETag(Long projectId) {
+        long version = projectPort.findVersionByIdAndTenantId(projectId, TenantContext.getTenant())
+                .orElseThrow(() -> new NoSuchElementException("Project not found"));
+        return "project-" + projectId + "-v" + version;
+    }
+
+    public String listETag() {
+        return "projects-" + modificationStampService.projectsStamp();
+    }
+
     public ProjectResponse findByIdResponse(Long projectId) {
         Project project = findById(projectId);
         return mapToResponse(project);
@@ -64,7 +107,7 @@ public class ProjectService {
 
     public List<ProjectListResponse> findLatestProjects(int limit) {
         String tenantId = TenantContext.getTenant();
-        return projectPort.findLatestProjectsByTenantId(tenantId, limit)
+        return projectReadPort.findLatestProjectsByTenantId(tenantId, limit)
                 .stream()
                 .map(this::mapToListResponse)
                 .collect(Collectors.toList());
@@ -0,0 +1,116 @@
+package fr.corentinbringer.smarttasks.project.application.service;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.AttachmentPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.FileStoragePort;
+import fr.corentinbringer.smarttasks.project.application.port.out.StoredObjectPort;
+import fr.corentinbringer.smarttasks.project.domain.event.AttachmentCreatedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.AttachmentDeletedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.StoredObjectUnreferencedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.UploadStagedEvent;
+import fr.corentinbringer.smarttasks.project.domain.model.Attachment;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Links attachments to the objects they share by content. An upload stays under the key it was
+ * staged at when its content is new, so storage is never touched while a reference is being taken:
+ * what a transaction leaves unreferenced, a duplicate or a rolled back upload, is deleted once it
+ * completes.
+ * <p>
+ * An object is only deleted from storage once the removal of its last reference has committed, in a
+ * transaction of its own that checks again that nothing references it: a rolled back deletion never
+ * loses content still pointed to.
+ */
+@Service
+@RequiredArgsConstructor
+public class StoredObjectService {
+
+    private final AttachmentPort attachmentPort;
+    private final StoredObjectPort storedObjectPort;
+    private final FileStoragePort fileStoragePort;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Saves {@code attachment}, whose content was uploaded under its object key: the attachment points
+     * to the object already holding {@code contentKey} instead when there is one.
+     */
+    @Transactional(rollbackOn = Exception.class)
+    public Attachment attach(Attachment attachment, String contentKey) {
+        String stagedKey = attachment.objectKey();
+        // First, so a failure of anything below still has the staged upload deleted
+        eventPublisher.publishEvent(new UploadStagedEvent(stagedKey));
+
+        String objectKey = storedObjectPort.addReference(attachment.tenantId(), contentKey, stagedKey, attachment.size());
+        boolean deduplicated = !objectKey.equals(stagedKey);
+
+        Attachment savedAttachment = attachmentPort.save(new Attachment(
+                attachment.id(),
+                attachment.tenantId(),
+                objectKey,
+                attachment.originalName(),
+                attachment.mimeType(),
+                attachment.size(),
+                attachment.uploadedOn(),
+                attachment.taskId()
+        ));
+        eventPublisher.publishEvent(new AttachmentCreatedEvent(
+                attachment.tenantId(), attachment.taskId(), attachment.size(), deduplicated));
+
+        return savedAttachment;
+    }
+
+    /**
+     * Deletes a staged upload from storage unless it was kept as an object, once the transaction that
+     * could have kept it has completed.
+     */
+    public void deleteIfUntracked(String stagedKey) throws Exception {
+        if (!storedObjectPort.isTracked(stagedKey)) {
+            fileStoragePort.deleteFile(stagedKey);
+        }
+    }
+
+    /**
+     * Deletes the attachment. When no other attachment points to its object, the object is deleted
+     * from storage after commit.
+     */
+    @Transactional(rollbackOn = Exception.class)
+    public void detach(Long attachmentId, String tenantId) {
+        Attachment attachment = attachmentPort.findByIdAndTenantId(attachmentId, tenantId)
+                .orElseThrow(() -> new NoSuchElementException("Attachment not found"));
+
+        attachmentPort.deleteById(attachment.id());
+        if (storedObjectPort.removeReference(attachment.objectKey()) == 0) {
+            eventPublisher.publishEvent(new StoredObjectUnreferencedEvent(attachment.objectKey()));
+        }
+
+        eventPublisher.publishEvent(new AttachmentDeletedEvent(tenantId, attachment.taskId()));
+    }
+
+    /**
+     * Deletes the object from storage if it still has no reference. Uploads of the same content don't
+     * wait for it: they no longer share this object. The row is only forgotten once the object is
+     * gone, so a failed deletion is retried by the next sweep.
+     */
+    @Transactional(value = Transactional.TxType.REQUIRES_NEW, rollbackOn = Exception.class)
+    public void deleteIfUnreferenced(String objectKey) throws Exception {
+        if (!storedObjectPort.lockUnreferenced(objectKey)) {
+            return;
+        }
+
+        fileStoragePort.deleteFile(objectKey);
+        storedObjectPort.deleteUnreferenced(objectKey);
+    }
+
+    /**
+     * @return objects left without references, whose deletion failed or was interrupted
+     */
+    @Transactional
+    public List<String> findUnreferenced(int limit) {
+        return storedObjectPort.findUnreferenced(limit);
+    }
+}
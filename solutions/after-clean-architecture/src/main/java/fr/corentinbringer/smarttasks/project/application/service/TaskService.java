@@ -1,28 +1,67 @@
 package fr.corentinbringer.smarttasks.project.application.service;
 
 import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
+import fr.corentinbringer.smarttasks.project.application.port.out.Cursor;
+import fr.corentinbringer.smarttasks.project.application.port.out.TaskImportPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.TaskImportRow;
 import fr.corentinbringer.smarttasks.project.application.port.out.TaskPort;
-import fr.corentinbringer.smarttasks.project.domain.model.Project;
+import fr.corentinbringer.smarttasks.project.application.port.out.TaskReadPort;
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskExportRow;
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskSummary;
+import fr.corentinbringer.smarttasks.project.domain.event.TaskCreatedEvent;
 import fr.corentinbringer.smarttasks.project.domain.model.Task;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.CursorPageResponse;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskBatchResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskCreateRequest;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskImportLine;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskImportResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskListResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskResponse;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
     private final TaskPort taskPort;
+    private final TaskReadPort taskReadPort;
+    private final TaskImportPort taskImportPort;
     private final ProjectService projectService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ModificationStampService modificationStampService;
+    private final Validator validator;
+
+    @Value("${smarttasks.tasks.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${smarttasks.tasks.batch.max-size:10000}")
+    private int batchMaxSize;
+
+    @Value("${smarttasks.tasks.import.max-reported-errors:1000}")
+    private int importMaxReportedErrors;
 
     private TaskResponse mapToResponse(Task task) {
         return new TaskResponse(
@@ -36,11 +75,11 @@ public class TaskService {
         );
     }
 
-    private TaskListResponse mapToListResponse(Task task) {
+    private TaskListResponse mapToListResponse(TaskSummary task) {
         return new TaskListResponse(
                 task.id(),
                 task.title(),
-                task.description(),
+                task.descriptionPreview(),
                 task.dueDate(),
                 task.completed()
         );
@@ -48,12 +87,57 @@ public class TaskService {
 
     @Transactional
     public Page<TaskListResponse> findAllByProjectId(Long projectId, Pageable pageable) {
-        Project project = projectService.findById(projectId);
+        projectService.checkExists(projectId);
 
-        return taskPort.findAllByProjectIdAndTenantId(project.id(), TenantContext.getTenant(), pageable)
+        return taskReadPort.findAllByProjectIdAndTenantId(projectId, TenantContext.getTenant(), pageable)
                 .map(this::mapToListResponse);
     }
 
+    @Transactional
+    public Slice<TaskListResponse> findSliceByProjectId(Long projectId, Pageable pageable) {
+        projectService.checkExists(projectId);
+
+        return taskReadPort.findSliceByProjectIdAndTenantId(projectId, TenantContext.getTenant(), pageable)
+                .map(this::mapToListResponse);
+    }
+
+    @Transactional
+    public CursorPageResponse<TaskListResponse> findAllByProjectId(Long projectId, String cursor, int size) {
+        int pageSize = CursorPageResponse.checkSize(size);
+        projectService.checkExists(projectId);
+
+        List<TaskSummary> tasks = taskReadPort.findAllByProjectIdAndTenantIdAfter(
+                projectId, TenantContext.getTenant(), Cursor.decode(cursor), pageSize + 1);
+
+        return CursorPageResponse.of(tasks, pageSize, task -> new Cursor(task.createdOn(), task.id()), this::mapToListResponse);
+    }
+
+    @Transactional
+    public void exportByProjectId(Long projectId, Consumer<Stream<TaskExportRow>> consumer) {
+        projectService.checkExists(projectId);
+
+        try (Stream<TaskExportRow> rows = taskReadPort.streamAllByProjectIdAndTenantId(projectId, TenantContext.getTenant())) {
+            consumer.accept(rows);
+        }
+    }
+
+    public void checkExists(Long taskId) {
+        if (!taskPort.existsByIdAndTenantId(taskId, TenantContext.getTenant())) {
+            throw new NoSuchElementException("Task not found");
+        }
+    }
+
+    public String findETag(Long taskId) {
+        long version = taskPort.findVersionByIdAndTenantId(taskId, TenantContext.getTenant())
+                .orElseThrow(() -> new NoSuchElementException("Task not found"));
+        return "task-" + taskId + "-v" + version;
+    }
+
+    public String listETag(Long projectId) {
+        projectService.checkExists(projectId);
+        return "project-" + projectId + "-tasks-" + modificationStampService.tasksStamp(projectId);
+    }
+
     public Task findById(Long taskId) {
         String tenantId = TenantContext.getTenant();
         return taskPort.findByIdAndTenantId(taskId, tenantId)
@@ -63,12 +147,12 @@ public class TaskService {
     @Transactional
     public TaskResponse create(Long projectId, TaskCreateRequest request) {
         String tenantId = TenantContext.getTenant();
-        Project project = projectService.findById(projectId);
+        projectService.checkExists(projectId);
 
         Task newTask = new Task(
                 null,
                 tenantId,
-                project.id(),
+                projectId,
                 request.title(),
                 request.description(),
                 request.dueDate(),
@@ -77,10 +161,113 @@ public class TaskService {
         );
 
         Task savedTask = taskPort.save(newTask);
+        eventPublisher.publishEvent(new TaskCreatedEvent(tenantId, projectId, 1,
+                request.dueDate() == null ? Map.of() : Map.of(request.dueDate(), 1L)));
 
         return mapToResponse(savedTask);
     }
 
+    @Transactional
+    public TaskBatchResponse createAll(Long projectId, List<TaskCreateRequest> requests) {
+        if (requests.size() > batchMaxSize) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + batchMaxSize + " tasks");
+        }
+
+        String tenantId = TenantContext.getTenant();
+        projectService.checkExists(projectId);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Task> newTasks = new ArrayList<>(requests.size());
+        List<TaskBatchResponse.ItemError> errors = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TaskCreateRequest request = requests.get(i);
+
+            if (request == null) {
+                errors.add(new TaskBatchResponse.ItemError(i, Map.of("task", "must not be null")));
+                continue;
+            }
+
+            Map<String, String> details = validate(request);
+            if (!details.isEmpty()) {
+                errors.add(new TaskBatchResponse.ItemError(i, details));
+                continue;
+            }
+
+            newTasks.add(new Task(
+                    null,
+                    tenantId,
+                    projectId,
+                    request.title(),
+                    request.description(),
+                    request.dueDate(),
+                    false,
+                    now
+            ));
+        }
+
+        List<Long> createdIds = newTasks.isEmpty() ? List.of() : taskPort.saveAll(newTasks, batchChunkSize);
+        if (!createdIds.isEmpty()) {
+            Map<LocalDate, Long> openTasksByDueDate = newTasks.stream()
+                    .filter(task -> task.dueDate() != null)
+                    .collect(Collectors.groupingBy(Task::dueDate, Collectors.counting()));
+            eventPublisher.publishEvent(new TaskCreatedEvent(tenantId, projectId, createdIds.size(), openTasksByDueDate));
+        }
+
+        return new TaskBatchResponse(createdIds, errors);
+    }
+
+    /**
+     * Invalid lines are skipped and reported; the valid ones are inserted in the same transaction.
+     */
+    @Transactional
+    public TaskImportResponse importCsv(Long projectId, Stream<TaskImportLine> lines) {
+        String tenantId = TenantContext.getTenant();
+        projectService.checkExists(projectId);
+
+        List<TaskImportResponse.LineError> errors = new ArrayList<>();
+        Map<LocalDate, Long> openTasksByDueDate = new HashMap<>();
+        long[] rejectedCount = {0};
+
+        Stream<TaskImportRow> rows = lines
+                .map(line -> {
+                    Map<String, String> details = new LinkedHashMap<>(line.errors());
+                    // The fields of a record that couldn't be read hold nothing worth validating
+                    if (!details.containsKey(TaskImportLine.RECORD)) {
+                        validate(line.request()).forEach(details::putIfAbsent);
+                    }
+
+                    if (details.isEmpty()) {
+                        TaskCreateRequest request = line.request();
+                        if (request.dueDate() != null) {
+                            openTasksByDueDate.merge(request.dueDate(), 1L, Long::sum);
+                        }
+                        return new TaskImportRow(request.title(), request.description(), request.dueDate());
+                    }
+
+                    rejectedCount[0]++;
+                    if (errors.size() < importMaxReportedErrors) {
+                        errors.add(new TaskImportResponse.LineError(line.line(), details));
+                    }
+                    return null;
+                })
+                .filter(Objects::nonNull);
+
+        long importedCount = taskImportPort.importAll(tenantId, projectId, rows);
+        if (importedCount > 0) {
+            eventPublisher.publishEvent(new TaskCreatedEvent(tenantId, projectId, importedCount, openTasksByDueDate));
+        }
+
+        return new TaskImportResponse(importedCount, rejectedCount[0], errors);
+    }
+
+    private Map<String, String> validate(TaskCreateRequest request) {
+        Set<ConstraintViolation<TaskCreateRequest>> violations = validator.validate(request);
+        Map<String, String> details = new LinkedHashMap<>();
+        violations.forEach(violation -> details.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return details;
+    }
+
     @Transactional
     public TaskResponse findByIdResponse(Long taskId) {
         Task task = findById(taskId);
@@ -0,0 +1,8 @@
+package fr.corentinbringer.smarttasks.project.domain.event;
+
+public record AttachmentCreatedEvent(
+        String tenantId,
+        Long taskId,
+        long size,
+        boolean deduplicated
+) {}
@@ -0,0 +1,6 @@
+package fr.corentinbringer.smarttasks.project.domain.event;
+
+public record AttachmentDeletedEvent(
+        String tenantId,
+        Long taskId
+) {}
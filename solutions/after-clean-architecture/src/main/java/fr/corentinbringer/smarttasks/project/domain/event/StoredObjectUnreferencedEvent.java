@@ -0,0 +1,5 @@
+package fr.corentinbringer.smarttasks.project.domain.event;
+
+public record StoredObjectUnreferencedEvent(
+        String objectKey
+) {}
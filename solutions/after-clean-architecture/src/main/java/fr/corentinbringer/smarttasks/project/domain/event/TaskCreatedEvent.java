@@ -0,0 +1,15 @@
+package fr.corentinbringer.smarttasks.project.domain.event;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * One event per create call: {@code count} tasks were added, {@code openTasksByDueDate} counts the
+ * ones with a due date.
+ */
+public record TaskCreatedEvent(
+        String tenantId,
+        Long projectId,
+        long count,
+        Map<LocalDate, Long> openTasksByDueDate
+) {}
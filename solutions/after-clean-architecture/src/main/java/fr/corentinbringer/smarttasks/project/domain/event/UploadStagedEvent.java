@@ -0,0 +1,5 @@
+package fr.corentinbringer.smarttasks.project.domain.event;
+
+public record UploadStagedEvent(
+        String stagedKey
+) {}
@@ -5,15 +5,13 @@ import fr.corentinbringer.smarttasks.project.application.port.out.FileStoragePor
 import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
 import io.minio.errors.MinioException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
 import java.util.UUID;
 
-@Service
 @RequiredArgsConstructor
 public class MinioFileStorageAdapter implements FileStoragePort {
 
@@ -21,16 +19,18 @@ public class MinioFileStorageAdapter implements FileStoragePort {
     private final MinioConfig minioConfig;
 
     @Override
-    public String uploadFile(MultipartFile file) throws Exception {
+    public String uploadFile(InputStream content, String contentType) throws Exception {
         String objectName = UUID.randomUUID().toString();
 
-        try (InputStream is = file.getInputStream()) {
+        try {
+            // Unknown size: the client fills one part-sized buffer at a time and sends each as a
+            // part of a multipart upload, or as a single PUT when the content fits in one part
             minioClient.putObject(
                     PutObjectArgs.builder()
                             .bucket(minioConfig.getBucketName())
                             .object(objectName)
-                            .stream(is, file.getSize(), -1)
-                            .contentType(file.getContentType())
+                            .stream(content, -1, minioConfig.getPartSize().toBytes())
+                            .contentType(contentType)
                             .build());
 
             return objectName;
@@ -51,4 +51,32 @@ public class MinioFileStorageAdapter implements FileStoragePort {
             throw new RuntimeException("MinIO retrieval failed: " + e.getMessage(), e);
         }
     }
+
+    @Override
+    public InputStream downloadFile(String objectKey, long offset, long length) throws Exception {
+        try {
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(minioConfig.getBucketName())
+                            .object(objectKey)
+                            .offset(offset)
+                            .length(length)
+                            .build());
+        } catch (MinioException e) {
+            throw new RuntimeException("MinIO retrieval failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void deleteFile(String objectKey) throws Exception {
+        try {
+            minioClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(minioConfig.getBucketName())
+                            .object(objectKey)
+                            .build());
+        } catch (MinioException e) {
+            throw new RuntimeException("MinIO deletion failed: " + e.getMessage(), e);
+        }
+    }
 }
@@ -3,11 +3,11 @@ package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter
 import fr.corentinbringer.smarttasks.project.application.port.out.AttachmentPort;
 import fr.corentinbringer.smarttasks.project.domain.model.Attachment;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity.AttachmentEntity;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity.TaskEntity;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.mapper.AttachmentMapper;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.AttachmentRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
@@ -18,12 +18,7 @@ public class AttachmentPersistenceAdapter implements AttachmentPort {
 
     private final AttachmentRepository attachmentRepository;
     private final AttachmentMapper attachmentMapper;
-
-    @Override
-    public Page<Attachment> findAllByTaskIdAndTenantId(Long taskId, String tenantId, Pageable pageable) {
-        Page<AttachmentEntity> entityPage = attachmentRepository.findAllByTaskIdAndTenantId(taskId, tenantId, pageable);
-        return entityPage.map(attachmentMapper::toDomain);
-    }
+    private final EntityManager entityManager;
 
     @Override
     public Optional<Attachment> findByIdAndTenantId(Long id, String tenantId) {
@@ -32,8 +27,15 @@ public class AttachmentPersistenceAdapter implements AttachmentPort {
 
     @Override
     public Attachment save(Attachment attachment) {
-        AttachmentEntity entity = attachmentMapper.toEntity(attachment);
+        // Uninitialized proxy: the foreign key is all the insert needs
+        TaskEntity task = entityManager.getReference(TaskEntity.class, attachment.taskId());
+        AttachmentEntity entity = attachmentMapper.toEntity(attachment, task);
         AttachmentEntity savedEntity = attachmentRepository.save(entity);
         return attachmentMapper.toDomain(savedEntity);
     }
+
+    @Override
+    public void deleteById(Long id) {
+        attachmentRepository.deleteById(id);
+    }
 }
@@ -0,0 +1,44 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.AttachmentReadPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.Cursor;
+import fr.corentinbringer.smarttasks.project.application.readmodel.AttachmentSummary;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache.ListCountCache;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.AttachmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class AttachmentReadPersistenceAdapter implements AttachmentReadPort {
+
+    private final AttachmentRepository attachmentRepository;
+    private final ListCountCache listCountCache;
+
+    @Override
+    public Page<AttachmentSummary> findAllByTaskIdAndTenantId(Long taskId, String tenantId, Pageable pageable) {
+        Slice<AttachmentSummary> slice = findSliceByTaskIdAndTenantId(taskId, tenantId, pageable);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable,
+                () -> listCountCache.get(ListCountCache.ListKind.ATTACHMENTS, tenantId, taskId,
+                        () -> attachmentRepository.countByTaskIdAndTenantId(taskId, tenantId)));
+    }
+
+    @Override
+    public Slice<AttachmentSummary> findSliceByTaskIdAndTenantId(Long taskId, String tenantId, Pageable pageable) {
+        return attachmentRepository.findAllByTaskIdAndTenantId(taskId, tenantId, pageable);
+    }
+
+    @Override
+    public List<AttachmentSummary> findAllByTaskIdAndTenantIdAfter(Long taskId, String tenantId, Cursor after, int limit) {
+        return after == null
+                ? attachmentRepository.findFirstByTaskIdAndTenantId(taskId, tenantId, Limit.of(limit))
+                : attachmentRepository.findNextByTaskIdAndTenantId(taskId, tenantId, after.timestamp(), after.id(), Limit.of(limit));
+    }
+}
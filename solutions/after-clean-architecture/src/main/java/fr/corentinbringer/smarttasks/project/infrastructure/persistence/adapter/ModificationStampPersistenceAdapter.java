@@ -0,0 +1,42 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.ModificationStampPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The new stamp is drawn in the conflict branch, after the row lock is taken, so a row's value only
+ * ever increases: concurrent writers can't leave it at a value a reader has already seen.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModificationStampPersistenceAdapter implements ModificationStampPort {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void touch(String tenantId, Collection collection, long parentId) {
+        jdbcTemplate.update("""
+                INSERT INTO modification_stamps (tenant_id, collection, parent_id, stamp)
+                VALUES (?, ?, ?, nextval('modification_stamps_seq'))
+                ON CONFLICT (tenant_id, collection, parent_id) DO UPDATE SET stamp = nextval('modification_stamps_seq')
+                """, tenantId, collection.name(), parentId);
+    }
+
+    @Override
+    public long findStamp(String tenantId, Collection collection, long parentId) {
+        return jdbcTemplate.query("""
+                SELECT stamp FROM modification_stamps
+                WHERE tenant_id = ? AND collection = ? AND parent_id = ?
+                """, rs -> rs.next() ? rs.getLong(1) : 0L, tenantId, collection.name(), parentId);
+    }
+
+    @Override
+    public long findTenantStamp(String tenantId) {
+        // Every row only increases, so the sum changes with each committed write
+        Long sum = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(stamp), 0) FROM modification_stamps WHERE tenant_id = ?", Long.class, tenantId);
+        return sum == null ? 0L : sum;
+    }
+}
@@ -2,17 +2,14 @@ package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter
 
 import fr.corentinbringer.smarttasks.project.application.port.out.ProjectPort;
 import fr.corentinbringer.smarttasks.project.domain.model.Project;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache.OwnershipCache;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity.ProjectEntity;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.mapper.ProjectMapper;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -20,12 +17,7 @@ public class ProjectPersistenceAdapter implements ProjectPort {
 
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
-
-    @Override
-    public Page<Project> findAll(String tenantId, Pageable pageable) {
-        Page<ProjectEntity> entityPage = projectRepository.findAllByTenantId(tenantId, pageable);
-        return entityPage.map(projectMapper::toDomain);
-    }
+    private final OwnershipCache ownershipCache;
 
     @Override
     public Project save(Project project) {
@@ -40,16 +32,25 @@ public class ProjectPersistenceAdapter implements ProjectPort {
     }
 
     @Override
-    public long countByTenantId(String tenantId) {
-        return projectRepository.countByTenantId(tenantId);
+    public boolean existsByIdAndTenantId(Long id, String tenantId) {
+        if (ownershipCache.isOwnedBy(OwnershipCache.Kind.PROJECT, id, tenantId)) {
+            return true;
+        }
+
+        boolean exists = projectRepository.existsByIdAndTenantId(id, tenantId);
+        if (exists) {
+            ownershipCache.remember(OwnershipCache.Kind.PROJECT, id, tenantId);
+        }
+        return exists;
     }
 
     @Override
-    public List<Project> findLatestProjectsByTenantId(String tenantId, int limit) {
-        Pageable pageable = Pageable.ofSize(limit);
-        return projectRepository.findLatestProjectsByTenantId(tenantId, pageable)
-                .stream()
-                .map(projectMapper::toDomain)
-                .collect(Collectors.toList());
+    public Optional<Long> findVersionByIdAndTenantId(Long id, String tenantId) {
+        return projectRepository.findVersionByIdAndTenantId(id, tenantId);
+    }
+
+    @Override
+    public long countByTenantId(String tenantId) {
+        return projectRepository.countByTenantId(tenantId);
     }
 }
\ No newline at end of file
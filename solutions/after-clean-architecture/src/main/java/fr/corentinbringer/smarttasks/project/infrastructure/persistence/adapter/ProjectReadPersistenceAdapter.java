@@ -0,0 +1,49 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.Cursor;
+import fr.corentinbringer.smarttasks.project.application.port.out.ProjectReadPort;
+import fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache.ListCountCache;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ProjectReadPersistenceAdapter implements ProjectReadPort {
+
+    private final ProjectRepository projectRepository;
+    private final ListCountCache listCountCache;
+
+    @Override
+    public Page<ProjectSummary> findAll(String tenantId, Pageable pageable) {
+        Slice<ProjectSummary> slice = findSlice(tenantId, pageable);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable,
+                () -> listCountCache.get(ListCountCache.ListKind.PROJECTS, tenantId, null,
+                        () -> projectRepository.countByTenantId(tenantId)));
+    }
+
+    @Override
+    public Slice<ProjectSummary> findSlice(String tenantId, Pageable pageable) {
+        return projectRepository.findAllByTenantId(tenantId, pageable);
+    }
+
+    @Override
+    public List<ProjectSummary> findAllAfter(String tenantId, Cursor after, int limit) {
+        return after == null
+                ? projectRepository.findFirstByTenantId(tenantId, Limit.of(limit))
+                : projectRepository.findNextByTenantId(tenantId, after.timestamp(), after.id(), Limit.of(limit));
+    }
+
+    @Override
+    public List<ProjectSummary> findLatestProjectsByTenantId(String tenantId, int limit) {
+        return projectRepository.findLatestProjectsByTenantId(tenantId, Pageable.ofSize(limit));
+    }
+}
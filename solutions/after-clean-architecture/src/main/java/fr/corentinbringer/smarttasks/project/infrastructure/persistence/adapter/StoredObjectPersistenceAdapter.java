@@ -0,0 +1,65 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.StoredObjectPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Uploads of the same content conflict on the unique index of referenced content keys, so they wait
+ * for each other's commit rather than storing two objects. A row at {@code 0} references has left that
+ * index: it is only locked, then deleted, by the deletion of its object.
+ */
+@Component
+@RequiredArgsConstructor
+public class StoredObjectPersistenceAdapter implements StoredObjectPort {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String addReference(String tenantId, String contentKey, String objectKey, long size) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO stored_objects (object_key, content_key, tenant_id, size, reference_count) VALUES (?, ?, ?, ?, 1)
+                ON CONFLICT (content_key) WHERE reference_count > 0
+                DO UPDATE SET reference_count = stored_objects.reference_count + 1
+                RETURNING object_key
+                """, String.class, objectKey, contentKey, tenantId, size);
+    }
+
+    @Override
+    public long removeReference(String objectKey) {
+        return jdbcTemplate.query("""
+                UPDATE stored_objects SET reference_count = reference_count - 1
+                WHERE object_key = ? AND reference_count > 0
+                RETURNING reference_count
+                """, rs -> rs.next() ? rs.getLong(1) : 0L, objectKey);
+    }
+
+    @Override
+    public boolean isTracked(String objectKey) {
+        return !jdbcTemplate.queryForList(
+                "SELECT object_key FROM stored_objects WHERE object_key = ?", String.class, objectKey).isEmpty();
+    }
+
+    @Override
+    public boolean lockUnreferenced(String objectKey) {
+        return !jdbcTemplate.queryForList("""
+                SELECT object_key FROM stored_objects
+                WHERE object_key = ? AND reference_count = 0
+                FOR UPDATE
+                """, String.class, objectKey).isEmpty();
+    }
+
+    @Override
+    public void deleteUnreferenced(String objectKey) {
+        jdbcTemplate.update("DELETE FROM stored_objects WHERE object_key = ? AND reference_count = 0", objectKey);
+    }
+
+    @Override
+    public List<String> findUnreferenced(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT object_key FROM stored_objects WHERE reference_count = 0 LIMIT ?", String.class, limit);
+    }
+}
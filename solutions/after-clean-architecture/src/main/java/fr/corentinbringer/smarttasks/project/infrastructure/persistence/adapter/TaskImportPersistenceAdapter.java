@@ -0,0 +1,166 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.TaskImportPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.TaskImportRow;
+import fr.corentinbringer.smarttasks.project.application.port.out.TaskPort;
+import fr.corentinbringer.smarttasks.project.domain.model.Task;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * On PostgreSQL, rows are streamed through COPY into a temporary staging table and moved to
+ * {@code tasks} with a single INSERT ... SELECT. Other databases fall back to JDBC batch inserts.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskImportPersistenceAdapter implements TaskImportPort {
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE task_import (
+                position    BIGINT GENERATED ALWAYS AS IDENTITY,
+                title       VARCHAR(100) NOT NULL,
+                description TEXT,
+                due_date    DATE
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING_TABLE =
+            "COPY task_import (title, description, due_date) FROM STDIN WITH (FORMAT csv)";
+
+    /*
+     * Each nextval() reserves a whole pooled block of tasks_seq (value - 49 .. value, as for Hibernate),
+     * so only as many blocks as the rows fill are taken, and every id in them is used, in file order.
+     */
+    private static final String INSERT_FROM_STAGING_TABLE = """
+            INSERT INTO tasks (id, tenant_id, project_id, title, description, due_date, completed, created_on)
+            SELECT ids.id, :tenantId, :projectId, staged.title, staged.description, staged.due_date, false, :createdOn
+            FROM (SELECT row_number() OVER (ORDER BY position) AS n, title, description, due_date
+                  FROM task_import) staged
+            JOIN (SELECT row_number() OVER (ORDER BY id) AS n, id
+                  FROM (SELECT nextval('tasks_seq') AS high
+                        FROM generate_series(1, (SELECT (count(*) + :blockSize - 1) / :blockSize FROM task_import))) blocks,
+                       generate_series(blocks.high - :blockSize + 1, blocks.high) AS id) ids
+            USING (n)
+            """;
+
+    // The allocationSize of tasks_seq in TaskEntity
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final DataSource dataSource;
+    private final EntityManager entityManager;
+    private final TaskPort taskPort;
+
+    @Value("${smarttasks.tasks.import.copy-enabled:true}")
+    private boolean copyEnabled;
+
+    @Value("${smarttasks.tasks.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public long importAll(String tenantId, Long projectId, Stream<TaskImportRow> rows) {
+        // Without one, the staging table is dropped as soon as it's created and the connection leaks
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Task import must run in a transaction");
+        }
+
+        // Joins the connection of the surrounding JPA transaction
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+
+        try {
+            if (copyEnabled && connection.isWrapperFor(PGConnection.class)) {
+                return copy(connection.unwrap(PGConnection.class), connection, tenantId, projectId, rows);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Task import failed", e);
+        } finally {
+            // Only hands it back to the transaction, which closes it on completion
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        return insertInBatches(tenantId, projectId, rows);
+    }
+
+    private long copy(PGConnection pgConnection, Connection connection, String tenantId, Long projectId,
+                      Stream<TaskImportRow> rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+        }
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, COPY_STAGING_TABLE), StandardCharsets.UTF_8), 64 * 1024)) {
+            Iterator<TaskImportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TaskImportRow row = iterator.next();
+                writer.write(csvField(row.title()));
+                writer.write(',');
+                writer.write(csvField(row.description()));
+                writer.write(',');
+                writer.write(row.dueDate() == null ? "" : row.dueDate().toString());
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Run through Hibernate so cached queries on tasks are invalidated when the import commits
+        return entityManager.unwrap(Session.class)
+                .createNativeQuery(INSERT_FROM_STAGING_TABLE)
+                .addSynchronizedQuerySpace("tasks")
+                .setParameter("tenantId", tenantId)
+                .setParameter("projectId", projectId)
+                // The clock every other write path uses, not the database session's time zone
+                .setParameter("createdOn", LocalDateTime.now())
+                .setParameter("blockSize", ID_BLOCK_SIZE)
+                .executeUpdate();
+    }
+
+    private long insertInBatches(String tenantId, Long projectId, Stream<TaskImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> chunk = new ArrayList<>(chunkSize);
+        long imported = 0;
+
+        Iterator<TaskImportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            TaskImportRow row = iterator.next();
+            chunk.add(new Task(null, tenantId, projectId, row.title(), row.description(), row.dueDate(), false, now));
+
+            if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                imported += taskPort.saveAll(chunk, chunkSize).size();
+                chunk.clear();
+            }
+        }
+
+        return imported;
+    }
+
+    // Unquoted empty fields are NULL for COPY, so empty strings are always quoted
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -2,15 +2,18 @@ package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter
 
 import fr.corentinbringer.smarttasks.project.application.port.out.TaskPort;
 import fr.corentinbringer.smarttasks.project.domain.model.Task;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache.OwnershipCache;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity.ProjectEntity;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity.TaskEntity;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.mapper.TaskMapper;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -19,25 +22,60 @@ public class TaskPersistenceAdapter implements TaskPort {
 
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
+    private final EntityManager entityManager;
+    private final OwnershipCache ownershipCache;
 
     @Override
-    public Page<Task> findAllByProjectIdAndTenantId(Long projectId, String tenantId, Pageable pageable) {
-        Page<TaskEntity> entityPage = taskRepository.findAllByProjectIdAndTenantId(projectId, tenantId, pageable);
-        return entityPage.map(taskMapper::toDomain);
+    public Optional<Task> findByIdAndTenantId(Long id, String tenantId) {
+        return taskRepository.findByIdAndTenantId(id, tenantId).map(taskMapper::toDomain);
     }
 
     @Override
-    public Optional<Task> findByIdAndTenantId(Long id, String tenantId) {
-        return taskRepository.findByIdAndTenantId(id, tenantId).map(taskMapper::toDomain);
+    public boolean existsByIdAndTenantId(Long id, String tenantId) {
+        if (ownershipCache.isOwnedBy(OwnershipCache.Kind.TASK, id, tenantId)) {
+            return true;
+        }
+
+        boolean exists = taskRepository.existsByIdAndTenantId(id, tenantId);
+        if (exists) {
+            ownershipCache.remember(OwnershipCache.Kind.TASK, id, tenantId);
+        }
+        return exists;
+    }
+
+    @Override
+    public Optional<Long> findVersionByIdAndTenantId(Long id, String tenantId) {
+        return taskRepository.findVersionByIdAndTenantId(id, tenantId);
     }
 
     @Override
     public Task save(Task task) {
-        TaskEntity entity = taskMapper.toEntity(task);
+        TaskEntity entity = taskMapper.toEntity(task, projectReference(task));
         TaskEntity savedEntity = taskRepository.save(entity);
         return taskMapper.toDomain(savedEntity);
     }
 
+    @Override
+    public List<Long> saveAll(List<Task> tasks, int chunkSize) {
+        List<Long> ids = new ArrayList<>(tasks.size());
+
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskEntity entity = taskMapper.toEntity(tasks.get(i), projectReference(tasks.get(i)));
+            entityManager.persist(entity);
+            ids.add(entity.getId());
+
+            // Flushing per chunk sends one JDBC batch and keeps the persistence context small
+            if ((i + 1) % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
     @Override
     public long countByTenantId(String tenantId) {
         return taskRepository.countByTenantId(tenantId);
@@ -47,4 +85,9 @@ public class TaskPersistenceAdapter implements TaskPort {
     public long countOverdueTasksByTenantId(String tenantId, LocalDate today) {
         return taskRepository.countOverdueTasksByTenantId(tenantId, today);
     }
+
+    private ProjectEntity projectReference(Task task) {
+        // Uninitialized proxy: the foreign key is all the insert needs
+        return entityManager.getReference(ProjectEntity.class, task.projectId());
+    }
 }
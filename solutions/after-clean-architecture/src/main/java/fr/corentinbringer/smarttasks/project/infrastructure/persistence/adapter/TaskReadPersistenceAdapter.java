@@ -0,0 +1,51 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.Cursor;
+import fr.corentinbringer.smarttasks.project.application.port.out.TaskReadPort;
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskExportRow;
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskSummary;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache.ListCountCache;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class TaskReadPersistenceAdapter implements TaskReadPort {
+
+    private final TaskRepository taskRepository;
+    private final ListCountCache listCountCache;
+
+    @Override
+    public Page<TaskSummary> findAllByProjectIdAndTenantId(Long projectId, String tenantId, Pageable pageable) {
+        Slice<TaskSummary> slice = findSliceByProjectIdAndTenantId(projectId, tenantId, pageable);
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable,
+                () -> listCountCache.get(ListCountCache.ListKind.TASKS, tenantId, projectId,
+                        () -> taskRepository.countByProjectIdAndTenantId(projectId, tenantId)));
+    }
+
+    @Override
+    public Slice<TaskSummary> findSliceByProjectIdAndTenantId(Long projectId, String tenantId, Pageable pageable) {
+        return taskRepository.findAllByProjectIdAndTenantId(projectId, tenantId, pageable);
+    }
+
+    @Override
+    public List<TaskSummary> findAllByProjectIdAndTenantIdAfter(Long projectId, String tenantId, Cursor after, int limit) {
+        return after == null
+                ? taskRepository.findFirstByProjectIdAndTenantId(projectId, tenantId, Limit.of(limit))
+                : taskRepository.findNextByProjectIdAndTenantId(projectId, tenantId, after.timestamp(), after.id(), Limit.of(limit));
+    }
+
+    @Override
+    public Stream<TaskExportRow> streamAllByProjectIdAndTenantId(Long projectId, String tenantId) {
+        return taskRepository.streamAllByProjectIdAndTenantId(projectId, tenantId);
+    }
+}
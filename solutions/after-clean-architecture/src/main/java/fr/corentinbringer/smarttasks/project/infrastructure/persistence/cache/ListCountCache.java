@@ -0,0 +1,88 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.corentinbringer.smarttasks.project.domain.event.AttachmentCreatedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.AttachmentDeletedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.ProjectCreatedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.TaskCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Total element counts of the paginated lists, per (tenant, parent).
+ * Entries are dropped once a create or delete on the same list has committed.
+ * <p>
+ * A count can start before such a commit and finish after its invalidation, which would then cache a
+ * stale total for the whole TTL. Each commit also bumps a generation for its list, in a table striped
+ * by key hash; a load that sees its generation change while it ran drops its result again.
+ */
+@Component
+public class ListCountCache {
+
+    public enum ListKind { PROJECTS, TASKS, ATTACHMENTS }
+
+    private record Key(ListKind kind, String tenantId, long parentId) {}
+
+    private static final long NO_PARENT = 0L;
+    private static final int GENERATION_SLOTS = 4096;
+
+    private final Cache<Key, Long> counts;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+
+    public ListCountCache(@Value("${smarttasks.cache.list-counts.maximum-size:10000}") long maximumSize,
+                          @Value("${smarttasks.cache.list-counts.ttl:10m}") Duration ttl) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public long get(ListKind kind, String tenantId, Long parentId, LongSupplier counter) {
+        Key key = new Key(kind, tenantId, parentId == null ? NO_PARENT : parentId);
+        int slot = slot(key);
+
+        // Read before the count runs; bumped before the entry is invalidated
+        long generation = generations.get(slot);
+        Long count = counts.get(key, k -> counter.getAsLong());
+        if (generations.get(slot) != generation) {
+            counts.asMap().remove(key, count);
+        }
+        return count;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        invalidate(new Key(ListKind.PROJECTS, event.tenantId(), NO_PARENT));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskCreated(TaskCreatedEvent event) {
+        invalidate(new Key(ListKind.TASKS, event.tenantId(), event.projectId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachmentCreated(AttachmentCreatedEvent event) {
+        invalidate(new Key(ListKind.ATTACHMENTS, event.tenantId(), event.taskId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachmentDeleted(AttachmentDeletedEvent event) {
+        invalidate(new Key(ListKind.ATTACHMENTS, event.tenantId(), event.taskId()));
+    }
+
+    private void invalidate(Key key) {
+        generations.incrementAndGet(slot(key));
+        counts.invalidate(key);
+    }
+
+    private static int slot(Key key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_SLOTS - 1);
+    }
+}
@@ -0,0 +1,56 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache;
+
+import fr.corentinbringer.smarttasks.project.domain.event.ProjectCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Remembers which tenant owns a project or a task, so checking a parent before listing or creating
+ * its children needs no query. Each kind is a direct-mapped table indexed by the low bits of the id,
+ * whose sequential values spread evenly over the slots: no boxed keys, no locking, and a colliding id
+ * simply replaces the previous one. Only committed ownership is stored; since an id never changes
+ * tenant, entries never go stale.
+ */
+@Component
+public class OwnershipCache {
+
+    public enum Kind { PROJECT, TASK }
+
+    private record Owner(long id, String tenantId) {}
+
+    private final AtomicReferenceArray<Owner> projects;
+    private final AtomicReferenceArray<Owner> tasks;
+    private final int mask;
+
+    public OwnershipCache(@Value("${smarttasks.cache.ownership.slots:65536}") int slots) {
+        int size = Integer.highestOneBit(Math.max(slots - 1, 1)) << 1;
+        this.projects = new AtomicReferenceArray<>(size);
+        this.tasks = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public boolean isOwnedBy(Kind kind, long id, String tenantId) {
+        Owner owner = table(kind).get(slot(id));
+        return owner != null && owner.id() == id && owner.tenantId().equals(tenantId);
+    }
+
+    public void remember(Kind kind, long id, String tenantId) {
+        table(kind).set(slot(id), new Owner(id, tenantId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        remember(Kind.PROJECT, event.projectId(), event.tenantId());
+    }
+
+    private AtomicReferenceArray<Owner> table(Kind kind) {
+        return kind == Kind.PROJECT ? projects : tasks;
+    }
+
+    private int slot(long id) {
+        return (int) id & mask;
+    }
+}
@@ -1,15 +1,19 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity;
 
+import fr.corentinbringer.smarttasks.configuration.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PROJECTS_REGION)
 @Table(name = "projects")
 @Getter
 @Setter
@@ -18,7 +22,8 @@ import java.util.Set;
 public class ProjectEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_seq", allocationSize = 50)
     private Long id;
 
     @Column(updatable = false, nullable = false)
@@ -27,6 +32,9 @@ public class ProjectEntity {
     @Column(length = 50)
     private String name;
 
+    @Version
+    private Long version;
+
     @Column(updatable = false, nullable = false)
     private LocalDateTime createdOn;
 
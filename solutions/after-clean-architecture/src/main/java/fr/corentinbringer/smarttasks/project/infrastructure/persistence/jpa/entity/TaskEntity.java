@@ -1,16 +1,20 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity;
 
+import fr.corentinbringer.smarttasks.configuration.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TASKS_REGION)
 @Table(name = "tasks")
 @Getter
 @Setter
@@ -19,7 +23,8 @@ import java.util.Set;
 public class TaskEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(updatable = false, nullable = false)
@@ -32,14 +37,22 @@ public class TaskEntity {
     @Column(length = 100, nullable = false)
     private String title;
 
-    @Lob
+    // Only the detail lookup needs the full text; list pages read description_preview
+    @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "text")
     private String description;
 
+    @Column(insertable = false, updatable = false)
+    private String descriptionPreview;
+
     private LocalDate dueDate;
 
     @Column(nullable = false)
     private boolean completed = false;
 
+    @Version
+    private Long version;
+
     @Column(updatable = false, nullable = false)
     private LocalDateTime createdOn;
 
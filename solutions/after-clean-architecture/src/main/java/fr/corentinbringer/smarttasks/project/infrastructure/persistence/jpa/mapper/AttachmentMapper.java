@@ -25,7 +25,10 @@ public class AttachmentMapper {
         );
     }
 
-    public AttachmentEntity toEntity(Attachment domain) {
+    /**
+     * {@code task} must be a managed reference: a detached stub has no version and is rejected on save.
+     */
+    public AttachmentEntity toEntity(Attachment domain, TaskEntity task) {
         if (domain == null) {
             return null;
         }
@@ -38,10 +41,7 @@ public class AttachmentMapper {
         entity.setMimeType(domain.mimeType());
         entity.setSize(domain.size());
         entity.setUploadedOn(domain.uploadedOn());
-
-        TaskEntity taskRef = new TaskEntity();
-        taskRef.setId(domain.taskId());
-        entity.setTask(taskRef);
+        entity.setTask(task);
 
         return entity;
     }
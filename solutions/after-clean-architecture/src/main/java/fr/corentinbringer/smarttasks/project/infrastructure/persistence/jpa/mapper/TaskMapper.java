@@ -25,7 +25,10 @@ public class TaskMapper {
         );
     }
 
-    public TaskEntity toEntity(Task domain) {
+    /**
+     * {@code project} must be a managed reference: a detached stub has no version and is rejected on save.
+     */
+    public TaskEntity toEntity(Task domain, ProjectEntity project) {
         if (domain == null) {
             return null;
         }
@@ -33,11 +36,7 @@ public class TaskMapper {
         TaskEntity entity = new TaskEntity();
         entity.setId(domain.id());
         entity.setTenantId(domain.tenantId());
-
-        ProjectEntity projectRef = new ProjectEntity();
-        projectRef.setId(domain.projectId());
-        entity.setProject(projectRef);
-
+        entity.setProject(project);
         entity.setTitle(domain.title());
         entity.setDescription(domain.description());
         entity.setDueDate(domain.dueDate());
@@ -1,20 +1,55 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository;
 
+import fr.corentinbringer.smarttasks.project.application.readmodel.AttachmentSummary;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity.AttachmentEntity;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AttachmentRepository extends JpaRepository<AttachmentEntity, Long> {
 
-    @Query("SELECT a FROM AttachmentEntity a WHERE a.task.id = :taskId AND a.tenantId = :tenantId ORDER BY a.uploadedOn DESC")
-    Page<AttachmentEntity> findAllByTaskIdAndTenantId(@Param("taskId") Long taskId, @Param("tenantId") String tenantId, Pageable pageable);
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.AttachmentSummary(
+                  a.id, a.originalName, a.mimeType, a.size, a.uploadedOn)
+           FROM AttachmentEntity a
+           WHERE a.task.id = :taskId
+           AND a.tenantId = :tenantId
+           ORDER BY a.uploadedOn DESC
+           """)
+    Slice<AttachmentSummary> findAllByTaskIdAndTenantId(@Param("taskId") Long taskId, @Param("tenantId") String tenantId, Pageable pageable);
+
+    long countByTaskIdAndTenantId(Long taskId, String tenantId);
+
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.AttachmentSummary(
+                  a.id, a.originalName, a.mimeType, a.size, a.uploadedOn)
+           FROM AttachmentEntity a
+           WHERE a.task.id = :taskId
+           AND a.tenantId = :tenantId
+           ORDER BY a.uploadedOn DESC, a.id DESC
+           """)
+    List<AttachmentSummary> findFirstByTaskIdAndTenantId(@Param("taskId") Long taskId, @Param("tenantId") String tenantId, Limit limit);
+
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.AttachmentSummary(
+                  a.id, a.originalName, a.mimeType, a.size, a.uploadedOn)
+           FROM AttachmentEntity a
+           WHERE a.task.id = :taskId
+           AND a.tenantId = :tenantId
+           AND (a.uploadedOn, a.id) < (:uploadedOn, :id)
+           ORDER BY a.uploadedOn DESC, a.id DESC
+           """)
+    List<AttachmentSummary> findNextByTaskIdAndTenantId(@Param("taskId") Long taskId, @Param("tenantId") String tenantId,
+                                                        @Param("uploadedOn") LocalDateTime uploadedOn, @Param("id") Long id, Limit limit);
 
     Optional<AttachmentEntity> findByIdAndTenantId(Long id, String tenantId);
 }
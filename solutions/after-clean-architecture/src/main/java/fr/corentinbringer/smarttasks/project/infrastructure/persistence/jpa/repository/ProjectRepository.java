@@ -1,31 +1,69 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository;
 
+import fr.corentinbringer.smarttasks.configuration.HibernateCacheConfig;
+import fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity.ProjectEntity;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
 
-    @Query("SELECT p FROM ProjectEntity p WHERE p.tenantId = :tenantId")
-    Page<ProjectEntity> findAllByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary(p.id, p.name, p.createdOn)
+           FROM ProjectEntity p
+           WHERE p.tenantId = :tenantId
+           """)
+    Slice<ProjectSummary> findAllByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
+
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary(p.id, p.name, p.createdOn)
+           FROM ProjectEntity p
+           WHERE p.tenantId = :tenantId
+           ORDER BY p.createdOn DESC, p.id DESC
+           """)
+    List<ProjectSummary> findFirstByTenantId(@Param("tenantId") String tenantId, Limit limit);
+
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary(p.id, p.name, p.createdOn)
+           FROM ProjectEntity p
+           WHERE p.tenantId = :tenantId
+           AND (p.createdOn, p.id) < (:createdOn, :id)
+           ORDER BY p.createdOn DESC, p.id DESC
+           """)
+    List<ProjectSummary> findNextByTenantId(@Param("tenantId") String tenantId, @Param("createdOn") LocalDateTime createdOn,
+                                            @Param("id") Long id, Limit limit);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.TENANT_LOOKUPS_REGION)
+    })
     Optional<ProjectEntity> findByIdAndTenantId(Long id, String tenantId);
 
+    boolean existsByIdAndTenantId(Long id, String tenantId);
+
+    @Query("SELECT p.version FROM ProjectEntity p WHERE p.id = :id AND p.tenantId = :tenantId")
+    Optional<Long> findVersionByIdAndTenantId(@Param("id") Long id, @Param("tenantId") String tenantId);
+
     long countByTenantId(String tenantId);
 
     @Query("""
-           SELECT p
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.ProjectSummary(p.id, p.name, p.createdOn)
            FROM ProjectEntity p
            WHERE p.tenantId = :tenantId
            ORDER BY p.createdOn DESC
            """)
-    List<ProjectEntity> findLatestProjectsByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
+    List<ProjectSummary> findLatestProjectsByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
 }
@@ -1,24 +1,90 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository;
 
+import fr.corentinbringer.smarttasks.configuration.HibernateCacheConfig;
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskExportRow;
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskSummary;
 import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.entity.TaskEntity;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
 
-    @Query("SELECT t FROM TaskEntity t WHERE t.project.id = :projectId AND t.tenantId = :tenantId ORDER BY t.createdOn DESC")
-    Page<TaskEntity> findAllByProjectIdAndTenantId(@Param("projectId") Long projectId, @Param("tenantId") String tenantId, Pageable pageable);
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.TaskSummary(
+                  t.id, t.title, t.descriptionPreview, t.dueDate, t.completed, t.createdOn)
+           FROM TaskEntity t
+           WHERE t.project.id = :projectId
+           AND t.tenantId = :tenantId
+           ORDER BY t.createdOn DESC
+           """)
+    Slice<TaskSummary> findAllByProjectIdAndTenantId(@Param("projectId") Long projectId, @Param("tenantId") String tenantId, Pageable pageable);
+
+    long countByProjectIdAndTenantId(Long projectId, String tenantId);
+
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.TaskSummary(
+                  t.id, t.title, t.descriptionPreview, t.dueDate, t.completed, t.createdOn)
+           FROM TaskEntity t
+           WHERE t.project.id = :projectId
+           AND t.tenantId = :tenantId
+           ORDER BY t.createdOn DESC, t.id DESC
+           """)
+    List<TaskSummary> findFirstByProjectIdAndTenantId(@Param("projectId") Long projectId, @Param("tenantId") String tenantId, Limit limit);
+
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.TaskSummary(
+                  t.id, t.title, t.descriptionPreview, t.dueDate, t.completed, t.createdOn)
+           FROM TaskEntity t
+           WHERE t.project.id = :projectId
+           AND t.tenantId = :tenantId
+           AND (t.createdOn, t.id) < (:createdOn, :id)
+           ORDER BY t.createdOn DESC, t.id DESC
+           """)
+    List<TaskSummary> findNextByProjectIdAndTenantId(@Param("projectId") Long projectId, @Param("tenantId") String tenantId,
+                                                     @Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Limit limit);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+           SELECT new fr.corentinbringer.smarttasks.project.application.readmodel.TaskExportRow(
+                  t.id, t.title, t.description, t.dueDate, t.completed, t.createdOn)
+           FROM TaskEntity t
+           WHERE t.project.id = :projectId
+           AND t.tenantId = :tenantId
+           ORDER BY t.createdOn DESC, t.id DESC
+           """)
+    Stream<TaskExportRow> streamAllByProjectIdAndTenantId(@Param("projectId") Long projectId, @Param("tenantId") String tenantId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.TENANT_LOOKUPS_REGION)
+    })
+    @EntityGraph(attributePaths = "description")
     Optional<TaskEntity> findByIdAndTenantId(Long id, String tenantId);
 
+    boolean existsByIdAndTenantId(Long id, String tenantId);
+
+    @Query("SELECT t.version FROM TaskEntity t WHERE t.id = :id AND t.tenantId = :tenantId")
+    Optional<Long> findVersionByIdAndTenantId(@Param("id") Long id, @Param("tenantId") String tenantId);
+
     long countByTenantId(String tenantId);
 
     @Query("""
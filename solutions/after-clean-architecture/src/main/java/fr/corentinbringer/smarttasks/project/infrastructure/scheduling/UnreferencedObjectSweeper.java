@@ -0,0 +1,70 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.scheduling;
+
+import fr.corentinbringer.smarttasks.project.application.service.StoredObjectService;
+import fr.corentinbringer.smarttasks.project.domain.event.StoredObjectUnreferencedEvent;
+import fr.corentinbringer.smarttasks.project.domain.event.UploadStagedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Deletes objects from storage once the removal of their last reference has committed. Those a
+ * failure or a restart left behind are picked up by a periodic sweep. Staged uploads that didn't
+ * become an object, duplicates or rolled back, are deleted as their transaction completes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnreferencedObjectSweeper {
+
+    private final StoredObjectService storedObjectService;
+
+    @Value("${smarttasks.storage.unreferenced-sweep.batch-size:500}")
+    private int batchSize;
+
+    @TransactionalEventListener
+    public void onStoredObjectUnreferenced(StoredObjectUnreferencedEvent event) {
+        delete(event.objectKey());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onUploadStaged(UploadStagedEvent event) {
+        try {
+            storedObjectService.deleteIfUntracked(event.stagedKey());
+        } catch (Exception e) {
+            log.warn("Cannot delete staged upload {}", event.stagedKey(), e);
+        }
+    }
+
+    @Scheduled(cron = "${smarttasks.storage.unreferenced-sweep.cron:0 */15 * * * *}")
+    public void sweep() {
+        List<String> objectKeys = storedObjectService.findUnreferenced(batchSize);
+
+        int deleted = 0;
+        for (String objectKey : objectKeys) {
+            if (delete(objectKey)) {
+                deleted++;
+            }
+        }
+
+        if (!objectKeys.isEmpty()) {
+            log.info("Swept {} of {} unreferenced objects", deleted, objectKeys.size());
+        }
+    }
+
+    private boolean delete(String objectKey) {
+        try {
+            storedObjectService.deleteIfUnreferenced(objectKey);
+            return true;
+        } catch (Exception e) {
+            log.warn("Cannot delete unreferenced object {}, left to the next sweep", objectKey, e);
+            return false;
+        }
+    }
+}
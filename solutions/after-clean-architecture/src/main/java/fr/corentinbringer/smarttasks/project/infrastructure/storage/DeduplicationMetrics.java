@@ -0,0 +1,53 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.storage;
+
+import fr.corentinbringer.smarttasks.project.domain.event.AttachmentCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Share of attachment uploads whose content was already stored, and the bytes they didn't add to
+ * storage. Only committed uploads are counted.
+ */
+@Component
+public class DeduplicationMetrics {
+
+    private final Counter stored;
+    private final Counter deduplicated;
+    private final Counter bytesSaved;
+
+    public DeduplicationMetrics(MeterRegistry meterRegistry) {
+        this.stored = Counter.builder("attachments.uploads")
+                .tag("result", "stored")
+                .description("Attachment uploads, by whether their content was new to storage")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("attachments.uploads")
+                .tag("result", "deduplicated")
+                .description("Attachment uploads, by whether their content was new to storage")
+                .register(meterRegistry);
+        Gauge.builder("attachments.dedup.ratio", this, DeduplicationMetrics::ratio)
+                .description("Share of attachment uploads answered by an object already stored")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("attachments.dedup.bytes.saved")
+                .baseUnit("bytes")
+                .description("Attachment bytes not written to storage because the content was already there")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachmentCreated(AttachmentCreatedEvent event) {
+        if (event.deduplicated()) {
+            deduplicated.increment();
+            bytesSaved.increment(event.size());
+        } else {
+            stored.increment();
+        }
+    }
+
+    private double ratio() {
+        double total = stored.count() + deduplicated.count();
+        return total == 0 ? 0 : deduplicated.count() / total;
+    }
+}
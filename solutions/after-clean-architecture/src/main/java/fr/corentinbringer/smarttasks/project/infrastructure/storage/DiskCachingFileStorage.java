@@ -0,0 +1,200 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.storage;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import fr.corentinbringer.smarttasks.project.application.port.out.FileRegion;
+import fr.corentinbringer.smarttasks.project.application.port.out.FileStoragePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache of stored objects on local disk, bounded by their total size. Object keys are
+ * immutable, so entries never go stale; they only leave on eviction, where Caffeine's W-TinyLFU keeps
+ * frequently read objects over merely recent ones.
+ * <p>
+ * A read that misses is answered by the delegate, so its first bytes don't wait for the whole object,
+ * and warms the cache in the background; concurrent misses on one key share that fetch. Hits are
+ * returned as {@link FileRegion}s, so they can be sent from the file without a copy loop. Evicted
+ * files are deleted after a delay, leaving time to open them to a download that has just been handed one.
+ * <p>
+ * Files are kept in a {@code disk-cache} subdirectory of the configured directory, which the cache
+ * creates for itself: only that subdirectory is ever cleaned, never the directory it was given.
+ */
+@Slf4j
+public class DiskCachingFileStorage implements FileStoragePort, AutoCloseable {
+
+    private static final String CACHE_DIRECTORY = "disk-cache";
+    private static final String FILE_PREFIX = "object-";
+    private static final long WHOLE_OBJECT = -1;
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private record CachedFile(Path path, long size) {}
+
+    private final FileStoragePort delegate;
+    private final Path directory;
+    private final ExecutorService fetchExecutor;
+    private final ScheduledExecutorService deleteScheduler;
+    private final AsyncCache<String, CachedFile> files;
+    private final Counter bytesSaved;
+
+    public DiskCachingFileStorage(FileStoragePort delegate, Path directory, long maximumBytes, Duration deleteDelay,
+                                  MeterRegistry meterRegistry) throws IOException {
+        this.delegate = delegate;
+        this.directory = createOwnedDirectory(directory.resolve(CACHE_DIRECTORY));
+        this.fetchExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("attachment-cache-fetch-", 0).factory());
+        this.deleteScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("attachment-cache-delete").factory());
+
+        // The index only lives in memory: files left by a previous run can't be reached any more
+        deleteLeftovers();
+
+        this.files = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, CachedFile file) -> (int) Math.min(file.size(), Integer.MAX_VALUE))
+                .removalListener((String key, CachedFile file, RemovalCause cause) -> {
+                    if (file != null) {
+                        deleteScheduler.schedule(() -> delete(file.path()), deleteDelay.toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, files, "attachments");
+        Gauge.builder("attachments.disk-cache.hit.ratio", files, cache -> cache.synchronous().stats().hitRate())
+                .description("Share of attachment reads answered from the disk cache")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("attachments.disk-cache.bytes.saved")
+                .baseUnit("bytes")
+                .description("Attachment bytes served from the disk cache instead of storage")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String uploadFile(InputStream content, String contentType) throws Exception {
+        return delegate.uploadFile(content, contentType);
+    }
+
+    @Override
+    public InputStream downloadFile(String objectKey) throws Exception {
+        return read(objectKey, 0, WHOLE_OBJECT);
+    }
+
+    @Override
+    public InputStream downloadFile(String objectKey, long offset, long length) throws Exception {
+        return read(objectKey, offset, length);
+    }
+
+    @Override
+    public void deleteFile(String objectKey) throws Exception {
+        delegate.deleteFile(objectKey);
+        // The removal listener deletes the local copy once downloads already handed it had time to open it
+        files.synchronous().invalidate(objectKey);
+    }
+
+    @Override
+    public void close() {
+        fetchExecutor.shutdownNow();
+        deleteScheduler.shutdownNow();
+    }
+
+    private InputStream read(String objectKey, long offset, long length) throws Exception {
+        // Peeks without touching the statistics; the lookups below record the hit or the miss
+        CompletableFuture<CachedFile> cached = files.asMap().get(objectKey);
+
+        if (cached == null) {
+            // Warm the cache for the next reads without making this one wait for the whole object
+            files.get(objectKey, (key, executor) -> fetch(key));
+        } else if (cached.isDone() && !cached.isCompletedExceptionally()) {
+            files.getIfPresent(objectKey);
+            CachedFile file = cached.join();
+            return open(objectKey, file, offset, length == WHOLE_OBJECT ? file.size() : length);
+        }
+        return length == WHOLE_OBJECT
+                ? delegate.downloadFile(objectKey)
+                : delegate.downloadFile(objectKey, offset, length);
+    }
+
+    private CompletableFuture<CachedFile> fetch(String objectKey) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path file = null;
+            try {
+                file = Files.createTempFile(directory, FILE_PREFIX, ".bin");
+                try (InputStream in = delegate.downloadFile(objectKey)) {
+                    long size = Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+                    return new CachedFile(file, size);
+                }
+            } catch (Exception e) {
+                if (file != null) {
+                    delete(file);
+                }
+                throw new CompletionException(e);
+            }
+        }, (Executor) fetchExecutor);
+    }
+
+    private InputStream open(String objectKey, CachedFile file, long position, long count) throws Exception {
+        try {
+            InputStream content = FileRegionInputStream.open(file.path(), position, count);
+            bytesSaved.increment(count);
+            return content;
+        } catch (NoSuchFileException e) {
+            // Removed from disk behind the cache's back: forget it and read from storage
+            files.asMap().remove(objectKey);
+            return position == 0 && count == file.size()
+                    ? delegate.downloadFile(objectKey)
+                    : delegate.downloadFile(objectKey, position, count);
+        }
+    }
+
+    /**
+     * Restricts the directory to its owner where permissions are POSIX: cached attachments are not
+     * left readable to other users, and a directory someone else created fails here instead of being
+     * cleaned.
+     */
+    private static Path createOwnedDirectory(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        if (Files.getFileAttributeView(directory, PosixFileAttributeView.class) != null) {
+            Files.setPosixFilePermissions(directory, OWNER_ONLY);
+        }
+        return directory;
+    }
+
+    private void deleteLeftovers() throws IOException {
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path leftover : leftovers) {
+                delete(leftover);
+            }
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete cached attachment {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.storage;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.FileRegion;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads {@code count} bytes of a file from {@code position}. The channel is opened up front, so the
+ * content stays readable even if the file is deleted afterwards.
+ */
+public class FileRegionInputStream extends InputStream implements FileRegion {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long position;
+    private final long count;
+    private long consumed;
+
+    private FileRegionInputStream(Path file, FileChannel channel, long position, long count) {
+        this.file = file;
+        this.channel = channel;
+        this.position = position;
+        this.count = count;
+    }
+
+    public static FileRegionInputStream open(Path file, long position, long count) throws IOException {
+        return new FileRegionInputStream(file, FileChannel.open(file, StandardOpenOption.READ), position, count);
+    }
+
+    @Override
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long remaining = count - consumed;
+        if (remaining <= 0) {
+            return -1;
+        }
+
+        int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position + consumed);
+        if (n > 0) {
+            consumed += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, count - consumed));
+        consumed += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(count - consumed, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The fallback for when the container can't send the file itself: {@code out} is no channel, so
+     * the bytes are still copied through a buffer in the JVM, only without the {@code read} loop. The
+     * zero-copy path is the servlet container's sendfile, which {@code RangeDownloadWriter} asks for
+     * with this region's {@link #file()}, {@link #position()} and {@link #count()}.
+     */
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long transferred = 0;
+        while (consumed < count) {
+            long n = channel.transferTo(position + consumed, count - consumed, target);
+            if (n <= 0) {
+                break;
+            }
+            consumed += n;
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
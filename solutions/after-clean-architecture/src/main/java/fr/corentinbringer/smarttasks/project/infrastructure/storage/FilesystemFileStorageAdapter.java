@@ -0,0 +1,133 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.storage;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.FileStoragePort;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Stores objects as files under a root directory, sharded by the first characters of their name
+ * ({@code objects/3f/a2/3fa2...}, or {@code objects/<prefix>/3f/a2/3fa2...} for a key with a prefix)
+ * so no directory grows to millions of entries. An object is written to {@code tmp/} and renamed into
+ * place, so readers only ever see complete files. Reads are {@link FileRegionInputStream}s, which a
+ * download can send straight from the file.
+ */
+@Slf4j
+public class FilesystemFileStorageAdapter implements FileStoragePort {
+
+    /**
+     * What is flushed to the device before an upload is reported as stored.
+     */
+    public enum FsyncPolicy {
+        /** Leaves it to the OS: fastest, but a crash can lose recent uploads. */
+        NONE,
+        /** The content of the file. */
+        FILE,
+        /** The content and the rename, so the file can't vanish from its directory after a crash. */
+        FILE_AND_DIRECTORY
+    }
+
+    /** Generated here, or content digests under a hashed prefix for objects stored under their content key. */
+    private static final Pattern OBJECT_KEY = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}|[0-9a-f]{32}/[0-9a-f]{64}");
+
+    private final Path objects;
+    private final Path temp;
+    private final FsyncPolicy fsyncPolicy;
+
+    public FilesystemFileStorageAdapter(Path root, FsyncPolicy fsyncPolicy) throws IOException {
+        // Both under the same root, so the final rename never crosses file systems
+        this.objects = Files.createDirectories(root.resolve("objects"));
+        this.temp = Files.createDirectories(root.resolve("tmp"));
+        this.fsyncPolicy = fsyncPolicy;
+
+        // Uploads interrupted by a previous run never made it into objects/
+        deleteLeftovers();
+    }
+
+    @Override
+    public String uploadFile(InputStream content, String contentType) throws Exception {
+        String objectName = UUID.randomUUID().toString();
+        Path file = Files.createTempFile(temp, "upload-", ".part");
+
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                content.transferTo(Channels.newOutputStream(channel));
+                if (fsyncPolicy != FsyncPolicy.NONE) {
+                    channel.force(true);
+                }
+            }
+
+            moveIntoPlace(file, pathOf(objectName));
+            return objectName;
+        } catch (Exception e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream downloadFile(String objectKey) throws Exception {
+        Path file = pathOf(objectKey);
+        return FileRegionInputStream.open(file, 0, Files.size(file));
+    }
+
+    @Override
+    public InputStream downloadFile(String objectKey, long offset, long length) throws Exception {
+        Path file = pathOf(objectKey);
+        // Like a ranged GET, a range running past the end stops at the end
+        long count = Math.max(0, Math.min(length, Files.size(file) - offset));
+        return FileRegionInputStream.open(file, offset, count);
+    }
+
+    @Override
+    public void deleteFile(String objectKey) throws Exception {
+        Files.deleteIfExists(pathOf(objectKey));
+    }
+
+    private void moveIntoPlace(Path file, Path target) throws IOException {
+        Path shard = Files.createDirectories(target.getParent());
+        Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        if (fsyncPolicy == FsyncPolicy.FILE_AND_DIRECTORY) {
+            forceDirectory(shard);
+        }
+    }
+
+    private Path pathOf(String objectKey) {
+        // Anything but the known key formats could point outside the root
+        if (!OBJECT_KEY.matcher(objectKey).matches()) {
+            throw new IllegalArgumentException("Invalid object key: " + objectKey);
+        }
+
+        int slash = objectKey.lastIndexOf('/');
+        Path parent = slash < 0 ? objects : objects.resolve(objectKey.substring(0, slash));
+        String name = objectKey.substring(slash + 1);
+        return parent.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory: the rename is then as durable as the OS makes it
+            log.debug("Cannot sync directory {}", directory, e);
+        }
+    }
+
+    private void deleteLeftovers() throws IOException {
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(temp)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+    }
+}
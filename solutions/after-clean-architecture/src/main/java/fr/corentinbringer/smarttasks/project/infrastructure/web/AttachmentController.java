@@ -1,21 +1,22 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.web;
 
-import fr.corentinbringer.smarttasks.project.infrastructure.web.model.DownloadResult;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.download.RangeDownloadWriter;
 import fr.corentinbringer.smarttasks.project.application.service.AttachmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/attachments")
@@ -27,18 +28,21 @@ public class AttachmentController {
 
     @Operation(
             summary = "Download an attachment",
-            description = "Download the specified attachment file."
+            description = "Download the specified attachment file. Supports Range and If-Range requests, including several ranges at once."
     )
     @GetMapping("/{id}/download")
-    public ResponseEntity<InputStreamResource> downloadAttachment(@Parameter(description = "Attachment ID to download") @PathVariable Long id) {
-        DownloadResult result = attachmentService.download(id);
-
-        String encodedFileName = URLEncoder.encode(result.fileName(), StandardCharsets.UTF_8).replace("+", "%20");
+    public void downloadAttachment(@Parameter(description = "Attachment ID to download") @PathVariable Long id,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RangeDownloadWriter.write(attachmentService.download(id), request, response);
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"")
-                .header(HttpHeaders.CONTENT_TYPE, result.mimeType())
-                .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(result.size()))
-                .body(result.resource());
+    @Operation(
+            summary = "Delete an attachment",
+            description = "Delete the specified attachment. Its file is removed from storage once no other attachment shares the same content."
+    )
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteAttachment(@Parameter(description = "Attachment ID to delete") @PathVariable Long id) {
+        attachmentService.delete(id);
     }
 }
@@ -1,5 +1,7 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.web;
 
+import fr.corentinbringer.smarttasks.configuration.web.ConditionalRequests;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.CursorPageResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.ProjectCreateRequest;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.ProjectListResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.ProjectResponse;
@@ -11,7 +13,9 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -25,11 +29,41 @@ public class ProjectController {
             summary = "List projects",
             description = "Retrieve a paginated list of all the user’s projects."
     )
-    @GetMapping
-    public Page<ProjectListResponse> findAll(Pageable pageable) {
+    @GetMapping(params = "!cursor")
+    public Page<ProjectListResponse> findAll(Pageable pageable, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, projectService.listETag())) {
+            return null;
+        }
         return projectService.findAll(pageable);
     }
 
+    @Operation(
+            summary = "List projects without total count",
+            description = "Retrieve a slice of the user’s projects. No count query is run: use the last flag to detect the end."
+    )
+    @GetMapping(params = {"count=false", "!cursor"})
+    public Slice<ProjectListResponse> findSlice(Pageable pageable, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, projectService.listETag())) {
+            return null;
+        }
+        return projectService.findSlice(pageable);
+    }
+
+    @Operation(
+            summary = "List projects with a cursor",
+            description = "Retrieve the user’s projects using keyset pagination. Send an empty cursor for the first page, then the returned nextCursor. Can't be combined with page, sort or count."
+    )
+    @GetMapping(params = {"cursor", "!page", "!sort", "!count"})
+    public CursorPageResponse<ProjectListResponse> findAllByCursor(
+            @Parameter(description = "Opaque cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, projectService.listETag())) {
+            return null;
+        }
+        return projectService.findAll(cursor, size);
+    }
+
     @Operation(
             summary = "Create a new project",
             description = "Create a new project for the current user.."
@@ -44,7 +78,10 @@ public class ProjectController {
             description = "Retrieve the details of a specific project."
     )
     @GetMapping("/{id}")
-    public ProjectResponse findById(@Parameter(description = "Project ID to retrieve") @PathVariable Long id) {
+    public ProjectResponse findById(@Parameter(description = "Project ID to retrieve") @PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, projectService.findETag(id))) {
+            return null;
+        }
         return projectService.findByIdResponse(id);
     }
 }
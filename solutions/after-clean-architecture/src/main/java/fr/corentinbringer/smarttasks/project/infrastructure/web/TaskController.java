@@ -1,17 +1,28 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.web;
 
+import fr.corentinbringer.smarttasks.configuration.web.ConditionalRequests;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.AttachmentResponse;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.CursorPageResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskResponse;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.upload.MultipartUploadReader;
 import fr.corentinbringer.smarttasks.project.application.service.AttachmentService;
 import fr.corentinbringer.smarttasks.project.application.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.SchemaProperty;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -21,13 +32,17 @@ public class TaskController {
 
     private final TaskService taskService;
     private final AttachmentService attachmentService;
+    private final MultipartUploadReader multipartUploadReader;
 
     @Operation(
             summary = "Get a task by ID",
             description = "Retrieve the details of a specific task."
     )
     @GetMapping("/{id}")
-    public TaskResponse findById(@Parameter(description = "Task ID to retrieve") @PathVariable Long id) {
+    public TaskResponse findById(@Parameter(description = "Task ID to retrieve") @PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, taskService.findETag(id))) {
+            return null;
+        }
         return taskService.findByIdResponse(id);
     }
 
@@ -35,18 +50,56 @@ public class TaskController {
             summary = "List a task’s attachments",
             description = "Retrieve a paginated list of attachments for a specific task."
     )
-    @GetMapping("/{id}/attachments")
-    public Page<AttachmentResponse> findAttachmentsByTaskId(@Parameter(description = "Task ID") @PathVariable Long id, Pageable pageable) {
+    @GetMapping(value = "/{id}/attachments", params = "!cursor")
+    public Page<AttachmentResponse> findAttachmentsByTaskId(@Parameter(description = "Task ID") @PathVariable Long id, Pageable pageable,
+                                                            WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, attachmentService.listETag(id))) {
+            return null;
+        }
         return attachmentService.findAllByTaskId(id, pageable);
     }
 
+    @Operation(
+            summary = "List a task’s attachments without total count",
+            description = "Retrieve a slice of attachments for a specific task. No count query is run: use the last flag to detect the end."
+    )
+    @GetMapping(value = "/{id}/attachments", params = {"count=false", "!cursor"})
+    public Slice<AttachmentResponse> findAttachmentSliceByTaskId(@Parameter(description = "Task ID") @PathVariable Long id, Pageable pageable,
+                                                                 WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, attachmentService.listETag(id))) {
+            return null;
+        }
+        return attachmentService.findSliceByTaskId(id, pageable);
+    }
+
+    @Operation(
+            summary = "List a task’s attachments with a cursor",
+            description = "Retrieve attachments for a specific task using keyset pagination. Send an empty cursor for the first page, then the returned nextCursor. Can't be combined with page, sort or count."
+    )
+    @GetMapping(value = "/{id}/attachments", params = {"cursor", "!page", "!sort", "!count"})
+    public CursorPageResponse<AttachmentResponse> findAttachmentsByTaskIdAndCursor(
+            @Parameter(description = "Task ID") @PathVariable Long id,
+            @Parameter(description = "Opaque cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, attachmentService.listETag(id))) {
+            return null;
+        }
+        return attachmentService.findAllByTaskId(id, cursor, size);
+    }
+
     @Operation(
             summary = "Add an attachment to a task",
-            description = "Upload a file and associate it with a task.")
-    @PostMapping(value = "/{id}/attachments", consumes = {"multipart/form-data"})
+            description = "Upload a file and associate it with a task. The file is streamed to storage as it is received.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(
+                    mediaType = MediaType.MULTIPART_FORM_DATA_VALUE,
+                    schemaProperties = @SchemaProperty(name = "file",
+                            schema = @Schema(type = "string", format = "binary", description = "File to upload")))))
+    @PostMapping(value = "/{id}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public AttachmentResponse createAttachment(
             @Parameter(description = "Task ID") @PathVariable Long id,
-            @Parameter(description = "File to upload", required = true) @RequestParam("file") MultipartFile file) {
-        return attachmentService.create(id, file);
+            HttpServletRequest request) throws IOException {
+        MultipartUploadReader.FilePart file = multipartUploadReader.findFile(request, "file");
+        return attachmentService.create(id, file.fileName(), file.contentType(), file.content());
     }
 }
@@ -1,17 +1,41 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.web;
 
+import fr.corentinbringer.smarttasks.configuration.web.ConditionalRequests;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.export.TaskExportWriter;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.importer.TaskCsvReader;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.CursorPageResponse;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskBatchResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskCreateRequest;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskExportFormat;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskImportLine;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskImportResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskListResponse;
 import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskResponse;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.upload.SizeLimitedInputStream;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.upload.UploadTooLargeException;
 import fr.corentinbringer.smarttasks.project.application.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/tasks")
@@ -20,16 +44,56 @@ import org.springframework.web.bind.annotation.*;
 public class TaskInProjectController {
 
     private final TaskService taskService;
+    private final TaskExportWriter taskExportWriter;
+
+    @Value("${smarttasks.tasks.import.max-body-size:100MB}")
+    private DataSize importMaxBodySize;
+
+    @Value("${smarttasks.tasks.import.max-record-length:65536}")
+    private int importMaxRecordLength;
 
     @Operation(
             summary = "List a project’s tasks",
             description = "Retrieve a paginated list of tasks for a specific project."
     )
-    @GetMapping
-    public Page<TaskListResponse> findAll(@Parameter(description = "Project ID") @PathVariable Long projectId, Pageable pageable) {
+    @GetMapping(params = "!cursor")
+    public Page<TaskListResponse> findAll(@Parameter(description = "Project ID") @PathVariable Long projectId, Pageable pageable,
+                                          WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, taskService.listETag(projectId))) {
+            return null;
+        }
         return taskService.findAllByProjectId(projectId, pageable);
     }
 
+    @Operation(
+            summary = "List a project’s tasks without total count",
+            description = "Retrieve a slice of tasks for a specific project. No count query is run: use the last flag to detect the end."
+    )
+    @GetMapping(params = {"count=false", "!cursor"})
+    public Slice<TaskListResponse> findSlice(@Parameter(description = "Project ID") @PathVariable Long projectId, Pageable pageable,
+                                             WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, taskService.listETag(projectId))) {
+            return null;
+        }
+        return taskService.findSliceByProjectId(projectId, pageable);
+    }
+
+    @Operation(
+            summary = "List a project’s tasks with a cursor",
+            description = "Retrieve tasks for a specific project using keyset pagination. Send an empty cursor for the first page, then the returned nextCursor. Can't be combined with page, sort or count."
+    )
+    @GetMapping(params = {"cursor", "!page", "!sort", "!count"})
+    public CursorPageResponse<TaskListResponse> findAllByCursor(
+            @Parameter(description = "Project ID") @PathVariable Long projectId,
+            @Parameter(description = "Opaque cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, taskService.listETag(projectId))) {
+            return null;
+        }
+        return taskService.findAllByProjectId(projectId, cursor, size);
+    }
+
     @Operation(
             summary = "Create a new task in a project",
             description = "“Create a new task associated with a specific project."
@@ -38,4 +102,54 @@ public class TaskInProjectController {
     public TaskResponse create(@Parameter(description = "Project ID") @PathVariable Long projectId, @Valid @RequestBody TaskCreateRequest request) {
         return taskService.create(projectId, request);
     }
+
+    @Operation(
+            summary = "Create tasks in bulk",
+            description = "Create many tasks in a project within a single transaction. Invalid items are reported by index and do not abort the batch."
+    )
+    @PostMapping("/batch")
+    public TaskBatchResponse createAll(@Parameter(description = "Project ID") @PathVariable Long projectId, @RequestBody List<TaskCreateRequest> requests) {
+        return taskService.createAll(projectId, requests);
+    }
+
+    @Operation(
+            summary = "Import tasks from CSV",
+            description = "Stream a CSV body (header with title, and optionally description and dueDate) into a project. Invalid or too long lines are reported by line number and skipped; a body over the size limit is refused with 413."
+    )
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public TaskImportResponse importCsv(@Parameter(description = "Project ID") @PathVariable Long projectId, HttpServletRequest request) throws IOException {
+        long maxBodySize = importMaxBodySize.toBytes();
+        if (request.getContentLengthLong() > maxBodySize) {
+            throw new UploadTooLargeException(maxBodySize);
+        }
+
+        InputStream body = new SizeLimitedInputStream(request.getInputStream(), maxBodySize);
+        try (Stream<TaskImportLine> lines = TaskCsvReader.lines(body, importMaxRecordLength)) {
+            return taskService.importCsv(projectId, lines);
+        } catch (UncheckedIOException e) {
+            // Raised by the reader, from within the import: the limit fails it like any read error
+            throw e.getCause();
+        }
+    }
+
+    @Operation(
+            summary = "Export a project’s tasks",
+            description = "Stream every task of a project as CSV or NDJSON (one JSON object per line)."
+    )
+    @GetMapping("/export")
+    public void export(
+            @Parameter(description = "Project ID") @PathVariable Long projectId,
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        TaskExportFormat exportFormat = TaskExportFormat.from(format);
+        OutputStream out = response.getOutputStream();
+
+        taskService.exportByProjectId(projectId, rows -> {
+            response.setContentType(exportFormat.contentType());
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"project-" + projectId + "-tasks." + exportFormat.extension() + "\"");
+            taskExportWriter.write(rows, exportFormat, out);
+        });
+    }
 }
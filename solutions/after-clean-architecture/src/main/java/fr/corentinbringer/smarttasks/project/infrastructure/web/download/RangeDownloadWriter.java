@@ -0,0 +1,211 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.download;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.FileRegion;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.DownloadResult;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes an attachment download, honouring byte {@code Range} requests: only the selected bytes are
+ * read from storage. Overlapping or adjacent ranges are merged; disjoint ones are sent as
+ * {@code multipart/byteranges}. A {@code Range} that can't be parsed, or whose {@code If-Range} no
+ * longer matches, is ignored and the whole content is sent.
+ */
+public final class RangeDownloadWriter {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private record Span(long start, long end) {
+
+        long length() {
+            return end - start + 1;
+        }
+
+        String contentRange(long size) {
+            return "bytes " + start + "-" + end + "/" + size;
+        }
+    }
+
+    private RangeDownloadWriter() {
+    }
+
+    public static void write(DownloadResult download, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = download.size();
+        String eTag = "\"" + download.eTag() + "\"";
+        long lastModified = download.uploadedOn().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String contentType = download.mimeType() != null ? download.mimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        String encodedFileName = URLEncoder.encode(download.fileName(), StandardCharsets.UTF_8).replace("+", "%20");
+
+        boolean sendBody = !"HEAD".equals(request.getMethod());
+        List<Span> spans = "GET".equals(request.getMethod()) && ifRangeMatches(request, eTag, lastModified)
+                ? selectSpans(request.getHeader(HttpHeaders.RANGE), size)
+                : null;
+
+        // Opened before any header is set, so a storage failure can still become an error response
+        Span first = spans == null ? new Span(0, size - 1) : spans.isEmpty() ? null : spans.getFirst();
+        try (InputStream firstContent = sendBody && first != null ? open(download, first) : null) {
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + encodedFileName + "\"");
+            // The content behind an attachment id never changes
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable().getHeaderValue());
+
+            if (spans == null) {
+                response.setContentType(contentType);
+                response.setContentLengthLong(size);
+                send(firstContent, request, response);
+            } else if (spans.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setContentLength(0);
+            } else if (spans.size() == 1) {
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setContentType(contentType);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, first.contentRange(size));
+                response.setContentLengthLong(first.length());
+                send(firstContent, request, response);
+            } else {
+                writeMultipart(download, spans, firstContent, contentType, response);
+            }
+        }
+    }
+
+    /**
+     * The spans to send, merged and in ascending order; empty when none is satisfiable, {@code null}
+     * when the whole content must be sent.
+     */
+    private static List<Span> selectSpans(String rangeHeader, long size) {
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        List<Span> satisfiable = new ArrayList<>(ranges.size());
+        for (HttpRange range : ranges) {
+            try {
+                Span span = new Span(range.getRangeStart(size), range.getRangeEnd(size));
+                if (span.start() <= span.end()) {
+                    satisfiable.add(span);
+                }
+            } catch (IllegalArgumentException e) {
+                // Starts past the end of the content
+            }
+        }
+        satisfiable.sort(Comparator.comparingLong(Span::start));
+
+        List<Span> merged = new ArrayList<>(satisfiable.size());
+        for (Span span : satisfiable) {
+            Span last = merged.isEmpty() ? null : merged.getLast();
+            if (last != null && span.start() <= last.end() + 1) {
+                merged.set(merged.size() - 1, new Span(last.start(), Math.max(last.end(), span.end())));
+            } else {
+                merged.add(span);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Weak tags never match
+            return ifRange.equals(eTag);
+        }
+
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void writeMultipart(DownloadResult download, List<Span> spans, InputStream firstContent,
+                                       String contentType, HttpServletResponse response) throws IOException {
+        String boundary = new String(MimeTypeUtils.generateMultipartBoundary(), StandardCharsets.US_ASCII);
+
+        List<byte[]> partHeaders = new ArrayList<>(spans.size());
+        long contentLength = 0;
+        for (Span span : spans) {
+            byte[] header = ((partHeaders.isEmpty() ? "" : "\r\n") + "--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + span.contentRange(download.size()) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + span.length();
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (firstContent == null) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        out.write(partHeaders.getFirst());
+        transfer(firstContent, response);
+        for (int i = 1; i < spans.size(); i++) {
+            out.write(partHeaders.get(i));
+            try (InputStream content = open(download, spans.get(i))) {
+                transfer(content, response);
+            }
+        }
+        out.write(closing);
+    }
+
+    /**
+     * Leaves a file region to the container when it can send files itself (Tomcat's sendfile, a
+     * {@code FileChannel.transferTo} to the socket): the bytes are then never copied through the JVM.
+     * Otherwise, and for every part of a multipart response, they are copied to the output stream.
+     */
+    private static void send(InputStream content, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (content instanceof FileRegion region && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, region.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, region.position());
+            request.setAttribute(SENDFILE_END, region.position() + region.count());
+            return;
+        }
+        transfer(content, response);
+    }
+
+    private static InputStream open(DownloadResult download, Span span) {
+        return span.length() > 0 ? download.content().open(span.start(), span.length()) : InputStream.nullInputStream();
+    }
+
+    private static void transfer(InputStream content, HttpServletResponse response) throws IOException {
+        if (content != null) {
+            content.transferTo(response.getOutputStream());
+        }
+    }
+}
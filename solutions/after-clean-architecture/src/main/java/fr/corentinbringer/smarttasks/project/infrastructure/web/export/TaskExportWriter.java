@@ -0,0 +1,78 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.export;
+
+import fr.corentinbringer.smarttasks.project.application.readmodel.TaskExportRow;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskExportFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes rows to the response as they are read: only the writer buffer is held in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskExportWriter {
+
+    private static final String CSV_HEADER = "id,title,description,dueDate,completed,createdOn";
+
+    private final JsonMapper jsonMapper;
+
+    public void write(Stream<TaskExportRow> rows, TaskExportFormat format, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+            if (format == TaskExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            Iterator<TaskExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TaskExportRow row = iterator.next();
+                switch (format) {
+                    case CSV -> writeCsvLine(writer, row);
+                    case NDJSON -> writer.write(jsonMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+            }
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsvLine(Writer writer, TaskExportRow row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(csvField(row.title()));
+        writer.write(',');
+        writer.write(csvField(row.description()));
+        writer.write(',');
+        writer.write(row.dueDate() == null ? "" : row.dueDate().toString());
+        writer.write(',');
+        writer.write(String.valueOf(row.completed()));
+        writer.write(',');
+        writer.write(row.createdOn().toString());
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
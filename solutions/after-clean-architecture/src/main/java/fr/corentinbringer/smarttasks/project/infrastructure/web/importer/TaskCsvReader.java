@@ -0,0 +1,226 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.importer;
+
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskCreateRequest;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskImportLine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parses an RFC 4180 CSV one record at a time. The header must contain a {@code title} column;
+ * {@code description} and {@code dueDate} are optional and other columns are ignored, so a file
+ * produced by the export can be imported as is.
+ * <p>
+ * A record longer than {@code maxRecordLength} characters is read to its end without being kept, and
+ * reported as an error of its line: a huge field, or a quote never closed, can't fill the heap.
+ */
+public class TaskCsvReader implements Iterator<TaskImportLine> {
+
+    private final BufferedReader reader;
+    private final int maxRecordLength;
+    private final int titleIndex;
+    private final int descriptionIndex;
+    private final int dueDateIndex;
+
+    private long lineNumber = 1;
+    private long recordLine;
+    private boolean unterminatedQuote;
+    private int recordLength;
+    private boolean recordTooLong;
+    private TaskImportLine next;
+
+    private TaskCsvReader(InputStream in, int maxRecordLength) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.maxRecordLength = maxRecordLength;
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        if (recordTooLong) {
+            throw new IllegalArgumentException("CSV header is longer than " + maxRecordLength + " characters");
+        }
+
+        List<String> columns = header.stream()
+                .map(column -> column.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT))
+                .toList();
+        this.titleIndex = columns.indexOf("title");
+        this.descriptionIndex = columns.indexOf("description");
+        this.dueDateIndex = columns.indexOf("duedate");
+
+        if (titleIndex < 0) {
+            throw new IllegalArgumentException("CSV header must contain a title column");
+        }
+    }
+
+    public static Stream<TaskImportLine> lines(InputStream in, int maxRecordLength) {
+        TaskCsvReader csvReader = new TaskCsvReader(in, maxRecordLength);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(csvReader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(csvReader::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            List<String> values = readRecord();
+            if (values == null) {
+                return false;
+            }
+            if (values.size() == 1 && values.getFirst().isEmpty()) {
+                continue;
+            }
+            next = toLine(values);
+        }
+        return true;
+    }
+
+    @Override
+    public TaskImportLine next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TaskImportLine line = next;
+        next = null;
+        return line;
+    }
+
+    private TaskImportLine toLine(List<String> values) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (recordTooLong) {
+            errors.put(TaskImportLine.RECORD, "longer than " + maxRecordLength + " characters");
+            return new TaskImportLine(recordLine, new TaskCreateRequest(null, null, null), errors);
+        }
+        if (unterminatedQuote) {
+            errors.put(TaskImportLine.RECORD, "unterminated quoted field");
+        }
+
+        LocalDate dueDate = null;
+        String rawDueDate = blankToNull(valueAt(values, dueDateIndex));
+        if (rawDueDate != null) {
+            try {
+                dueDate = LocalDate.parse(rawDueDate.trim());
+            } catch (DateTimeParseException e) {
+                errors.put("dueDate", "must be a date in yyyy-MM-dd format");
+            }
+        }
+
+        TaskCreateRequest request = new TaskCreateRequest(
+                valueAt(values, titleIndex),
+                blankToNull(valueAt(values, descriptionIndex)),
+                dueDate
+        );
+
+        return new TaskImportLine(recordLine, request, errors);
+    }
+
+    private String valueAt(List<String> values, int index) {
+        return index >= 0 && index < values.size() ? values.get(index) : null;
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Returns the fields of the next record, or {@code null} at the end of the input.
+     * Quoted fields may contain separators, doubled quotes and line breaks.
+     */
+    private List<String> readRecord() {
+        try {
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+
+            recordLine = lineNumber;
+            unterminatedQuote = false;
+            recordLength = 0;
+            recordTooLong = false;
+
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            while (true) {
+                if (c >= 0 && ++recordLength > maxRecordLength) {
+                    recordTooLong = true;
+                }
+                if (quoted) {
+                    if (c < 0) {
+                        unterminatedQuote = true;
+                        values.add(field.toString());
+                        return values;
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            append(field, '"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            lineNumber++;
+                        }
+                        append(field, (char) c);
+                    }
+                } else if (c < 0 || c == '\n') {
+                    lineNumber++;
+                    values.add(field.toString());
+                    return values;
+                } else if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    lineNumber++;
+                    values.add(field.toString());
+                    return values;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else {
+                    append(field, (char) c);
+                }
+                c = reader.read();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Past the limit, the rest of the record is only parsed to find where it ends
+    private void append(StringBuilder field, char c) {
+        if (!recordTooLong) {
+            field.append(c);
+        }
+    }
+
+    private void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.model;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.Cursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean last
+) {
+
+    public static final int MAX_SIZE = 100;
+
+    public static int checkSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}: the extra row only tells whether a next page exists.
+     */
+    public static <S, T> CursorPageResponse<T> of(List<S> rows, int size, Function<S, Cursor> cursorOf, Function<S, T> mapper) {
+        boolean last = rows.size() <= size;
+        List<S> pageRows = last ? rows : rows.subList(0, size);
+
+        String nextCursor = last ? null : cursorOf.apply(pageRows.getLast()).encode();
+
+        return new CursorPageResponse<>(
+                pageRows.stream().map(mapper).toList(),
+                size,
+                nextCursor,
+                last
+        );
+    }
+}
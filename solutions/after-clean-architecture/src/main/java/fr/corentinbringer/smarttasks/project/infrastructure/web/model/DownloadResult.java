@@ -1,10 +1,23 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.web.model;
 
-import org.springframework.core.io.InputStreamResource;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
+/**
+ * An attachment ready to be downloaded. Nothing is read from storage until {@link #content()} is opened.
+ */
 public record DownloadResult(
-        InputStreamResource resource,
+        ContentReader content,
         String fileName,
         String mimeType,
-        long size
-) {}
+        long size,
+        String eTag,
+        LocalDateTime uploadedOn
+) {
+
+    @FunctionalInterface
+    public interface ContentReader {
+
+        InputStream open(long offset, long length);
+    }
+}
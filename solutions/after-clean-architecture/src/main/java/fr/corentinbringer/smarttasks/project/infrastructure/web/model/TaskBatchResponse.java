@@ -0,0 +1,15 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.model;
+
+import java.util.List;
+import java.util.Map;
+
+public record TaskBatchResponse(
+        List<Long> createdIds,
+        List<ItemError> errors
+) {
+
+    public record ItemError(
+            int index,
+            Map<String, String> details
+    ) {}
+}
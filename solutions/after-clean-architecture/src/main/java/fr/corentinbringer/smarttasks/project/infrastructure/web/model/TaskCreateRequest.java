@@ -1,12 +1,18 @@
 package fr.corentinbringer.smarttasks.project.infrastructure.web.model;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
 
 public record TaskCreateRequest(
-        @NotBlank @Size(max = 100) String title,
-        String description,
+        @NotBlank @Size(max = 100) @Pattern(regexp = NO_NUL, message = NUL_MESSAGE) String title,
+        @Pattern(regexp = NO_NUL, message = NUL_MESSAGE) String description,
         LocalDate dueDate
-) {}
+) {
+
+    // PostgreSQL text can't hold NUL, and an import's COPY would fail on the first one
+    private static final String NO_NUL = "[^\\x00]*";
+    private static final String NUL_MESSAGE = "must not contain NUL characters";
+}
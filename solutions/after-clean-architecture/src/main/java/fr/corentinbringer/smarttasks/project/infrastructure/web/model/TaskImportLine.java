@@ -0,0 +1,16 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.model;
+
+import java.util.Map;
+
+/**
+ * A parsed CSV record. {@code errors} holds the fields that could not be parsed, keyed by column, or
+ * under {@link #RECORD} when the record itself could not be read.
+ */
+public record TaskImportLine(
+        long line,
+        TaskCreateRequest request,
+        Map<String, String> errors
+) {
+
+    public static final String RECORD = "line";
+}
@@ -0,0 +1,16 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.model;
+
+import java.util.List;
+import java.util.Map;
+
+public record TaskImportResponse(
+        long importedCount,
+        long rejectedCount,
+        List<LineError> errors
+) {
+
+    public record LineError(
+            long line,
+            Map<String, String> details
+    ) {}
+}
@@ -5,7 +5,7 @@ import java.time.LocalDate;
 public record TaskListResponse(
         Long id,
         String title,
-        String description,
+        String descriptionPreview,
         LocalDate dueDate,
         boolean completed
 ) {}
@@ -0,0 +1,14 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.upload;
+
+import java.io.IOException;
+
+/**
+ * The request body is not valid multipart/form-data. An {@link IOException}, as it is raised while
+ * the upload is read, like a client disconnecting.
+ */
+public class MalformedMultipartException extends IOException {
+
+    public MalformedMultipartException(String message) {
+        super(message);
+    }
+}
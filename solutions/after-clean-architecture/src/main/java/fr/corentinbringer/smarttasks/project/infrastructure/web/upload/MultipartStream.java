@@ -0,0 +1,265 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.upload;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Splits a multipart body (RFC 2046) into parts as it is read, through one fixed buffer: only the
+ * bytes that might be the start of the next boundary are ever held back. What is left of a part is
+ * skipped when the next one is requested.
+ */
+final class MultipartStream {
+
+    // RFC 2046 caps boundaries at 70 characters, far below the buffer size
+    private static final int MAX_BOUNDARY_LENGTH = 70;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_HEADERS_SIZE = 8 * 1024;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] HEADERS_END = {'\r', '\n', '\r', '\n'};
+
+    private final InputStream in;
+    private final long maxBodySize;
+    private final byte[] delimiter;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    // Unread bytes are buffer[head, tail)
+    private int head;
+    private int tail;
+    // Where the next delimiter starts, or -1 when it doesn't start before scanFrom: each byte is only
+    // searched once, however small the reads
+    private int delimiterAt = -1;
+    private int scanFrom;
+    private long bodySize;
+    private boolean lastPart;
+    // The preamble until the first boundary is read
+    private PartInputStream current = new PartInputStream();
+
+    MultipartStream(InputStream in, String boundary, long maxBodySize) {
+        if (boundary.isEmpty() || boundary.length() > MAX_BOUNDARY_LENGTH) {
+            throw new IllegalArgumentException("Invalid multipart boundary");
+        }
+        this.in = in;
+        this.maxBodySize = maxBodySize;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+
+        // The first boundary may open the body without a line break: one is assumed before it
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        tail = 2;
+    }
+
+    /**
+     * Moves past the preamble, or the rest of the current part, and returns the headers of the next
+     * part, whose names match regardless of case; or {@code null} after the closing boundary.
+     */
+    Map<String, String> nextPart() throws IOException {
+        if (lastPart) {
+            return null;
+        }
+
+        current.skipToEnd();
+        if (!readBoundaryEnd()) {
+            lastPart = true;
+            return null;
+        }
+
+        Map<String, String> headers = readHeaders();
+        current = new PartInputStream();
+        return headers;
+    }
+
+    /**
+     * The content of the part whose headers were returned last.
+     */
+    InputStream content() {
+        return current;
+    }
+
+    // After a delimiter: "--" closes the body, otherwise optional padding then CRLF start a part
+    private boolean readBoundaryEnd() throws IOException {
+        require(2);
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            head += 2;
+            return false;
+        }
+        while (buffer[head] == ' ' || buffer[head] == '\t') {
+            head++;
+            require(2);
+        }
+        if (buffer[head] != '\r' || buffer[head + 1] != '\n') {
+            throw new MalformedMultipartException("Unexpected characters after a multipart boundary");
+        }
+        head += 2;
+        return true;
+    }
+
+    private Map<String, String> readHeaders() throws IOException {
+        int end;
+        require(2);
+        if (buffer[head] == '\r' && buffer[head + 1] == '\n') {
+            end = head;
+        } else {
+            while ((end = indexOf(HEADERS_END, head)) < 0) {
+                if (tail - head >= MAX_HEADERS_SIZE) {
+                    throw new MalformedMultipartException("Multipart part headers are too large");
+                }
+                if (!fill()) {
+                    throw new MalformedMultipartException("Multipart body ended inside part headers");
+                }
+            }
+        }
+
+        Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+        // Browsers send file names as raw UTF-8
+        String block = new String(buffer, head, end - head, StandardCharsets.UTF_8);
+        for (String line : block.split("\r\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+            }
+        }
+
+        head = end + (end == head ? CRLF.length : HEADERS_END.length);
+        return headers;
+    }
+
+    private void require(int count) throws IOException {
+        while (tail - head < count) {
+            if (!fill()) {
+                throw new MalformedMultipartException("Multipart body ended before its closing boundary");
+            }
+        }
+    }
+
+    /**
+     * Reads more of the body after the unread bytes, moving them to the start of the buffer first.
+     * Returns {@code false} at the end of the body.
+     */
+    private boolean fill() throws IOException {
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            scanFrom = Math.max(0, scanFrom - head);
+            if (delimiterAt >= 0) {
+                delimiterAt -= head;
+            }
+            head = 0;
+        }
+
+        int read = in.read(buffer, tail, buffer.length - tail);
+        if (read < 0) {
+            return false;
+        }
+        bodySize += read;
+        if (bodySize > maxBodySize) {
+            throw new UploadTooLargeException(maxBodySize);
+        }
+        tail += read;
+        return true;
+    }
+
+    /**
+     * Searches the bytes read since the last search, and those of the previous ones that could start
+     * a delimiter running into them.
+     */
+    private int findDelimiter() {
+        if (delimiterAt < 0) {
+            int found = indexOf(delimiter, Math.max(head, scanFrom));
+            if (found >= 0) {
+                delimiterAt = found;
+            } else {
+                scanFrom = Math.max(head, tail - (delimiter.length - 1));
+            }
+        }
+        return delimiterAt;
+    }
+
+    private void consumeDelimiter() {
+        head = delimiterAt + delimiter.length;
+        delimiterAt = -1;
+        scanFrom = head;
+    }
+
+    private int indexOf(byte[] pattern, int from) {
+        for (int i = from; i <= tail - pattern.length; i++) {
+            int j = 0;
+            while (j < pattern.length && buffer[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ends where the next delimiter starts, and consumes it.
+     */
+    final class PartInputStream extends InputStream {
+
+        private final byte[] single = new byte[1];
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (ended) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+
+            int available = available();
+            while (available == 0) {
+                if (findDelimiter() == head) {
+                    consumeDelimiter();
+                    ended = true;
+                    return -1;
+                }
+                if (!fill()) {
+                    throw new MalformedMultipartException("Multipart body ended before its closing boundary");
+                }
+                available = available();
+            }
+
+            int count = Math.min(available, len);
+            System.arraycopy(buffer, head, b, off, count);
+            head += count;
+            return count;
+        }
+
+        /**
+         * Bytes that can be returned without reading: up to the delimiter, or all but those that
+         * could be its beginning.
+         */
+        @Override
+        public int available() {
+            if (ended) {
+                return 0;
+            }
+            int found = findDelimiter();
+            return found >= 0 ? found - head : Math.max(0, tail - head - (delimiter.length - 1));
+        }
+
+        void skipToEnd() throws IOException {
+            while (!ended) {
+                int available = available();
+                if (available > 0) {
+                    head += available;
+                } else {
+                    read(single, 0, 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.upload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Reads a multipart/form-data body part by part straight from the request, so a file is never
+ * buffered whole in memory or spooled to disk. The limits are enforced while the bytes are read:
+ * a body declaring more than the request limit is refused before any of it is read, and a file
+ * going past the file limit fails the read that crosses it. Servlet parts can't serve here, as the
+ * container stores each one whole before the handler runs.
+ */
+@Component
+public class MultipartUploadReader {
+
+    public record FilePart(String fileName, String contentType, InputStream content) {}
+
+    private final long maxFileSize;
+    private final long maxRequestSize;
+
+    public MultipartUploadReader(@Value("${smarttasks.attachments.upload.max-file-size:100MB}") DataSize maxFileSize,
+                                 @Value("${smarttasks.attachments.upload.max-request-size:101MB}") DataSize maxRequestSize) {
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxRequestSize = maxRequestSize.toBytes();
+    }
+
+    /**
+     * Skips the parts before the file field {@code fieldName} and returns it. Its content is the
+     * request stream itself: it must be consumed before the request completes.
+     */
+    public FilePart findFile(HttpServletRequest request, String fieldName) throws IOException {
+        String boundary = boundaryOf(request.getContentType());
+        if (request.getContentLengthLong() > maxRequestSize) {
+            throw new UploadTooLargeException(maxRequestSize);
+        }
+
+        MultipartStream parts = new MultipartStream(request.getInputStream(), boundary, maxRequestSize);
+        Map<String, String> headers;
+        while ((headers = parts.nextPart()) != null) {
+            ContentDisposition disposition = dispositionOf(headers);
+            if (disposition.getFilename() != null && fieldName.equals(disposition.getName())) {
+                String contentType = headers.getOrDefault(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+                return new FilePart(disposition.getFilename(), contentType, new SizeLimitedInputStream(parts.content(), maxFileSize));
+            }
+        }
+
+        throw new IllegalArgumentException("Missing file part '" + fieldName + "'");
+    }
+
+    private static String boundaryOf(String contentType) {
+        try {
+            MediaType mediaType = contentType == null ? null : MediaType.parseMediaType(contentType);
+            if (mediaType != null && MediaType.MULTIPART_FORM_DATA.includes(mediaType)) {
+                String boundary = mediaType.getParameter("boundary");
+                if (boundary != null) {
+                    return boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")
+                            ? boundary.substring(1, boundary.length() - 1)
+                            : boundary;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Same answer as a content type without a boundary
+        }
+        throw new IllegalArgumentException("Expected a multipart/form-data request");
+    }
+
+    private static ContentDisposition dispositionOf(Map<String, String> headers) throws MalformedMultipartException {
+        String value = headers.get(HttpHeaders.CONTENT_DISPOSITION);
+        if (value == null) {
+            throw new MalformedMultipartException("Multipart part without Content-Disposition");
+        }
+        try {
+            return ContentDisposition.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedMultipartException("Invalid Content-Disposition: " + value);
+        }
+    }
+}
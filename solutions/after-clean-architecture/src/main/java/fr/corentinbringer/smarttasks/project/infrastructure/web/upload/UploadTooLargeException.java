@@ -0,0 +1,20 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.upload;
+
+import java.io.IOException;
+
+/**
+ * An upload went past a size limit of {@code permitted} bytes, possibly after part of it was stored.
+ */
+public class UploadTooLargeException extends IOException {
+
+    private final long permitted;
+
+    public UploadTooLargeException(long permitted) {
+        super("Upload exceeds " + permitted + " bytes");
+        this.permitted = permitted;
+    }
+
+    public long getPermitted() {
+        return permitted;
+    }
+}
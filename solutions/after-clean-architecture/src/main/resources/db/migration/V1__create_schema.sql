@@ -0,0 +1,28 @@
+CREATE TABLE projects (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tenant_id  VARCHAR(255) NOT NULL,
+    name       VARCHAR(50),
+    created_on TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tenant_id   VARCHAR(255) NOT NULL,
+    project_id  BIGINT       NOT NULL REFERENCES projects (id),
+    title       VARCHAR(100) NOT NULL,
+    description OID,
+    due_date    DATE,
+    completed   BOOLEAN      NOT NULL,
+    created_on  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE attachments (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tenant_id     VARCHAR(255) NOT NULL,
+    object_key    VARCHAR(255) NOT NULL,
+    original_name VARCHAR(255) NOT NULL,
+    mime_type     VARCHAR(255) NOT NULL,
+    size          BIGINT       NOT NULL,
+    uploaded_on   TIMESTAMP(6) NOT NULL,
+    task_id       BIGINT       NOT NULL REFERENCES tasks (id)
+);
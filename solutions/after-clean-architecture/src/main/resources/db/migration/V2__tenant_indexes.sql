@@ -0,0 +1,19 @@
+-- Every list query filters on tenant + parent and orders by creation time (then id for keyset pages).
+-- The INCLUDE columns let the list projections be answered by index-only scans.
+
+CREATE INDEX idx_projects_tenant_created
+    ON projects (tenant_id, created_on DESC, id DESC)
+    INCLUDE (name);
+
+CREATE INDEX idx_tasks_tenant_project_created
+    ON tasks (tenant_id, project_id, created_on DESC, id DESC)
+    INCLUDE (title, due_date, completed);
+
+CREATE INDEX idx_attachments_tenant_task_uploaded
+    ON attachments (tenant_id, task_id, uploaded_on DESC, id DESC)
+    INCLUDE (original_name, mime_type, size);
+
+-- Overdue count on the dashboard only ever looks at open tasks with a due date.
+CREATE INDEX idx_tasks_tenant_open_due
+    ON tasks (tenant_id, due_date)
+    WHERE completed = false AND due_date IS NOT NULL;
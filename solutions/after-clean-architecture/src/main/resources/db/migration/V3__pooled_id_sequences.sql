@@ -0,0 +1,15 @@
+-- Hibernate cannot batch inserts on IDENTITY columns. Ids now come from sequences
+-- consumed in blocks of 50 by Hibernate's pooled optimizer (allocationSize = 50).
+
+CREATE SEQUENCE projects_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE attachments_seq START WITH 1 INCREMENT BY 50;
+
+-- The pooled optimizer hands out (value - 49 .. value), so the first block must start above existing ids.
+SELECT setval('projects_seq', COALESCE(MAX(id), 0) + 50, false) FROM projects;
+SELECT setval('tasks_seq', COALESCE(MAX(id), 0) + 50, false) FROM tasks;
+SELECT setval('attachments_seq', COALESCE(MAX(id), 0) + 50, false) FROM attachments;
+
+ALTER TABLE projects ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE attachments ALTER COLUMN id DROP IDENTITY;
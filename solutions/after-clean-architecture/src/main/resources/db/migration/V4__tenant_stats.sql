@@ -0,0 +1,30 @@
+-- Per-tenant counters maintained in the same transaction as project and task creation
+CREATE TABLE tenant_stats (
+    tenant_id      VARCHAR(255) PRIMARY KEY,
+    projects_count BIGINT NOT NULL DEFAULT 0,
+    tasks_count    BIGINT NOT NULL DEFAULT 0
+);
+
+-- Open tasks per due date: the overdue count is the sum of the buckets before today
+CREATE TABLE tenant_task_due_buckets (
+    tenant_id  VARCHAR(255) NOT NULL,
+    due_date   DATE         NOT NULL,
+    open_count BIGINT       NOT NULL,
+    PRIMARY KEY (tenant_id, due_date)
+);
+
+INSERT INTO tenant_stats (tenant_id, projects_count, tasks_count)
+SELECT tenant_id, sum(projects_count), sum(tasks_count)
+FROM (
+    SELECT tenant_id, count(*) AS projects_count, 0 AS tasks_count FROM projects GROUP BY tenant_id
+    UNION ALL
+    SELECT tenant_id, 0, count(*) FROM tasks GROUP BY tenant_id
+) counts
+GROUP BY tenant_id;
+
+INSERT INTO tenant_task_due_buckets (tenant_id, due_date, open_count)
+SELECT tenant_id, due_date, count(*)
+FROM tasks
+WHERE completed = false
+  AND due_date IS NOT NULL
+GROUP BY tenant_id, due_date;
@@ -0,0 +1,18 @@
+-- Descriptions move from large objects (OID) to TEXT, stored inline or TOASTed with the row.
+ALTER TABLE tasks ADD COLUMN description_text TEXT;
+
+UPDATE tasks
+SET description_text = convert_from(lo_get(description), 'UTF8')
+WHERE description IS NOT NULL;
+
+-- Dropping the OID column does not free the large objects themselves
+SELECT lo_unlink(description) FROM tasks WHERE description IS NOT NULL;
+
+ALTER TABLE tasks DROP COLUMN description;
+ALTER TABLE tasks RENAME COLUMN description_text TO description;
+
+-- What list pages show instead of the full text, maintained by PostgreSQL on every write
+ALTER TABLE tasks ADD COLUMN description_preview VARCHAR(200)
+    GENERATED ALWAYS AS (
+        CASE WHEN length(description) > 200 THEN left(description, 199) || '…' ELSE description END
+    ) STORED;
@@ -0,0 +1,14 @@
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- One stamp per tenant and collection (projects, or the tasks of one project), changed by every write
+-- to it. Values come from a sequence drawn once the row is locked, so each row only ever increases.
+CREATE SEQUENCE modification_stamps_seq;
+
+CREATE TABLE modification_stamps (
+    tenant_id  VARCHAR(255) NOT NULL,
+    collection VARCHAR(20)  NOT NULL,
+    parent_id  BIGINT       NOT NULL,
+    stamp      BIGINT       NOT NULL,
+    PRIMARY KEY (tenant_id, collection, parent_id)
+);
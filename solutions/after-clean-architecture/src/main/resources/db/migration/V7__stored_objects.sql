@@ -0,0 +1,13 @@
+-- One row per stored object, counting the attachments that point to it. Uploads of the same content
+-- by one tenant share an object, which is deleted from storage along with its last reference.
+CREATE TABLE stored_objects (
+    object_key      VARCHAR(255) PRIMARY KEY,
+    tenant_id       VARCHAR(255) NOT NULL,
+    size            BIGINT       NOT NULL,
+    reference_count BIGINT       NOT NULL
+);
+
+INSERT INTO stored_objects (object_key, tenant_id, size, reference_count)
+SELECT object_key, min(tenant_id), max(size), count(*)
+FROM attachments
+GROUP BY object_key;
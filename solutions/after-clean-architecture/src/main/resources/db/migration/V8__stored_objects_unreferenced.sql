@@ -0,0 +1,3 @@
+-- Objects whose last reference is gone stay at 0 until they are deleted from storage after commit;
+-- this index lets the sweep find those a failed or interrupted deletion left behind.
+CREATE INDEX stored_objects_unreferenced_idx ON stored_objects (object_key) WHERE reference_count = 0;
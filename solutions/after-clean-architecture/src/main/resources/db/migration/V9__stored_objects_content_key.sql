@@ -0,0 +1,12 @@
+-- Objects are kept under the key they were uploaded to; content_key is what identical uploads by one
+-- tenant share. Objects stored so far are under their content key already, or under a random key that
+-- no digest will ever match.
+ALTER TABLE stored_objects ADD COLUMN content_key VARCHAR(255);
+
+UPDATE stored_objects SET content_key = object_key;
+
+ALTER TABLE stored_objects ALTER COLUMN content_key SET NOT NULL;
+
+-- Only referenced objects are shared: an upload never revives an object whose deletion is pending,
+-- and stores its content again instead
+CREATE UNIQUE INDEX stored_objects_content_key_idx ON stored_objects (content_key) WHERE reference_count > 0;
@@ -0,0 +1,162 @@
+package fr.corentinbringer.smarttasks.benchmark;
+
+import fr.corentinbringer.smarttasks.configuration.concurrency.FanOutScope;
+import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
+import fr.corentinbringer.smarttasks.dashboard.application.port.out.DashboardPort;
+import fr.corentinbringer.smarttasks.dashboard.application.service.TenantStatsService;
+import fr.corentinbringer.smarttasks.project.application.service.ProjectService;
+import fr.corentinbringer.smarttasks.project.application.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Dashboard latency under concurrent tenants, without the response cache: the former four queries,
+ * the single-statement {@code DashboardPort} and the virtual-thread fan-out. Run with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class DashboardBenchmark {
+
+    private static final String TENANT_PREFIX = "benchmark-dashboard-";
+    private static final int TENANTS = 8;
+    private static final int PROJECTS_PER_TENANT = 50;
+    private static final int TASKS_PER_PROJECT = 200;
+    private static final int THREADS = 16;
+    private static final int WARMUP_CALLS = 200;
+    private static final int CALLS_PER_THREAD = 500;
+
+    @Autowired
+    private DashboardPort dashboardPort;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TenantStatsService tenantStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        for (int t = 0; t < TENANTS; t++) {
+            String tenant = TENANT_PREFIX + t;
+            jdbcTemplate.update("""
+                    INSERT INTO projects (id, tenant_id, name, created_on)
+                    SELECT nextval('projects_seq'), ?, 'Project ' || g, localtimestamp - g * interval '1 hour'
+                    FROM generate_series(1, ?) g
+                    """, tenant, PROJECTS_PER_TENANT);
+            jdbcTemplate.update("""
+                    INSERT INTO tasks (id, tenant_id, project_id, title, due_date, completed, created_on)
+                    SELECT nextval('tasks_seq'), p.tenant_id, p.id, 'Task ' || g, current_date + (g % 60) - 30, g % 3 = 0, localtimestamp
+                    FROM projects p CROSS JOIN generate_series(1, ?) g
+                    WHERE p.tenant_id = ?
+                    """, TASKS_PER_PROJECT, tenant);
+            tenantStatsService.rebuild(tenant);
+        }
+        jdbcTemplate.execute("ANALYZE projects");
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE tenant_id LIKE ?", TENANT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM projects WHERE tenant_id LIKE ?", TENANT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM tenant_task_due_buckets WHERE tenant_id LIKE ?", TENANT_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM tenant_stats WHERE tenant_id LIKE ?", TENANT_PREFIX + "%");
+    }
+
+    @Test
+    void separateQueries() throws Exception {
+        measure("four separate queries", () -> transactionTemplate.executeWithoutResult(status -> {
+            projectService.countAllProjects();
+            taskService.countAllTasks();
+            taskService.countOverdueTasks();
+            projectService.findLatestProjects(5);
+        }));
+    }
+
+    @Test
+    void singleStatement() throws Exception {
+        measure("single statement", () -> dashboardPort.loadSnapshot(TenantContext.getTenant(), LocalDate.now(), 5));
+    }
+
+    @Test
+    void parallelQueries() throws Exception {
+        measure("four queries on virtual threads", () -> {
+            String tenantId = TenantContext.getTenant();
+            try (FanOutScope scope = FanOutScope.open(Duration.ofSeconds(5))) {
+                scope.fork(() -> dashboardPort.countProjects(tenantId));
+                scope.fork(() -> dashboardPort.countTasks(tenantId));
+                scope.fork(() -> dashboardPort.countOverdueTasks(tenantId, LocalDate.now()));
+                scope.fork(() -> dashboardPort.findLatestProjects(tenantId, 5));
+                scope.join();
+            }
+        });
+    }
+
+    private void measure(String scenario, Runnable call) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            run(executor, call, WARMUP_CALLS / THREADS + 1);
+            long[] latencies = run(executor, call, CALLS_PER_THREAD);
+
+            Arrays.sort(latencies);
+            log.info("[dashboard] {}: {} calls on {} threads, p50 {} ms, p99 {} ms",
+                    scenario, latencies.length, THREADS,
+                    String.format("%.2f", percentile(latencies, 0.50)), String.format("%.2f", percentile(latencies, 0.99)));
+        }
+    }
+
+    private long[] run(ExecutorService executor, Runnable call, int callsPerThread) throws Exception {
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String tenant = TENANT_PREFIX + (i % TENANTS);
+            futures.add(executor.submit(() -> TenantContext.callWithTenant(tenant, () -> {
+                long[] latencies = new long[callsPerThread];
+                for (int c = 0; c < callsPerThread; c++) {
+                    long start = System.nanoTime();
+                    call.run();
+                    latencies[c] = System.nanoTime() - start;
+                }
+                return latencies;
+            })));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            long[] merged = Arrays.copyOf(all, all.length + latencies.length);
+            System.arraycopy(latencies, 0, merged, all.length, latencies.length);
+            all = merged;
+        }
+        return all;
+    }
+
+    private double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
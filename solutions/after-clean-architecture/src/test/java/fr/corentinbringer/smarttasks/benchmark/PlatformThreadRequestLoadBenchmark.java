@@ -0,0 +1,12 @@
+package fr.corentinbringer.smarttasks.benchmark;
+
+/**
+ * Requests on Tomcat's default pool of 200 platform threads. Run with {@code mvn test -Pbenchmark}.
+ */
+class PlatformThreadRequestLoadBenchmark extends RequestLoadBenchmarkSupport {
+
+    @Override
+    protected String mode() {
+        return "platform threads";
+    }
+}
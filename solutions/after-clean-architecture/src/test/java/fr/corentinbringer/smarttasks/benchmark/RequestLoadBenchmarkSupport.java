@@ -0,0 +1,142 @@
+package fr.corentinbringer.smarttasks.benchmark;
+
+import fr.corentinbringer.smarttasks.configuration.security.LocalSigningKey;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop HTTP load on a JDBC-bound endpoint: {@value #CONCURRENCY} clients, each sending its next
+ * request as soon as the previous one returns. Subclasses only choose how the server runs requests.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.hikari.maximum-pool-size=50",
+                "spring.jpa.show-sql=false",
+                "smarttasks.security.jwt.offline.enabled=true",
+                "smarttasks.security.jwt.local-signing-key.enabled=true"
+        }
+)
+@Slf4j
+abstract class RequestLoadBenchmarkSupport {
+
+    private static final String TENANT = "benchmark-load";
+    private static final int CONCURRENCY = 1_000;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 2;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LocalSigningKey localSigningKey;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    private Long projectId;
+
+    protected abstract String mode();
+
+    @BeforeEach
+    void seed() {
+        projectId = jdbcTemplate.queryForObject("""
+                INSERT INTO projects (id, tenant_id, name, created_on)
+                VALUES (nextval('projects_seq'), ?, 'Load', localtimestamp)
+                RETURNING id
+                """, Long.class, TENANT);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, tenant_id, project_id, title, completed, created_on)
+                SELECT nextval('tasks_seq'), ?, ?, 'Task ' || g, false, localtimestamp
+                FROM generate_series(1, 100) g
+                """, TENANT, projectId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM projects WHERE tenant_id = ?", TENANT);
+    }
+
+    @Test
+    void listTasksUnderLoad() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/projects/" + projectId + "/tasks?size=20&count=false"))
+                .header("Authorization", "Bearer " + localSigningKey.mint(TENANT, Duration.ofHours(1)))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        run(request, WARMUP_REQUESTS_PER_CLIENT);
+
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        long[] latencies = run(request, REQUESTS_PER_CLIENT, failures);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        log.info("[load] {}: {} requests from {} clients in {} s, {} req/s, p50 {} ms, p99 {} ms, {} failures",
+                mode(), latencies.length, CONCURRENCY, String.format("%.2f", seconds),
+                String.format("%.0f", latencies.length / seconds),
+                String.format("%.1f", percentile(latencies, 0.50)), String.format("%.1f", percentile(latencies, 0.99)),
+                failures.get());
+    }
+
+    private long[] run(HttpRequest request, int requestsPerClient) throws Exception {
+        return run(request, requestsPerClient, new AtomicInteger());
+    }
+
+    private long[] run(HttpRequest request, int requestsPerClient, AtomicInteger failures) throws Exception {
+        List<Future<long[]>> clients = new ArrayList<>(CONCURRENCY);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[r] = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+
+            long[] all = new long[CONCURRENCY * requestsPerClient];
+            for (int i = 0; i < CONCURRENCY; i++) {
+                System.arraycopy(clients.get(i).get(), 0, all, i * requestsPerClient, requestsPerClient);
+            }
+            return all;
+        }
+    }
+
+    private double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
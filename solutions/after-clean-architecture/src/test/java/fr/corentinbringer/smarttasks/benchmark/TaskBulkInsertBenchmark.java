@@ -0,0 +1,94 @@
+package fr.corentinbringer.smarttasks.benchmark;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.ProjectPort;
+import fr.corentinbringer.smarttasks.project.application.port.out.TaskPort;
+import fr.corentinbringer.smarttasks.project.domain.model.Project;
+import fr.corentinbringer.smarttasks.project.domain.model.Task;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Insert throughput for bulk task creation. Run with {@code mvn test -Pbenchmark}; run it on the
+ * commit before the sequence migration to get the IDENTITY baseline.
+ */
+@SpringBootTest
+@Slf4j
+class TaskBulkInsertBenchmark {
+
+    private static final String TENANT = "benchmark-bulk-insert";
+    private static final int TASKS = 5_000;
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private ProjectPort projectPort;
+
+    @Autowired
+    private TaskPort taskPort;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long projectId;
+
+    @BeforeEach
+    void createProject() {
+        projectId = projectPort.save(new Project(null, TENANT, "Bulk insert", LocalDateTime.now())).id();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM projects WHERE tenant_id = ?", TENANT);
+    }
+
+    @Test
+    void oneTransactionPerTask() {
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = newTask(i);
+            transactionTemplate.executeWithoutResult(status -> taskPort.save(task));
+        }
+        report("one transaction per task", start);
+    }
+
+    @Test
+    void chunkedSingleTransaction() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < TASKS; i++) {
+                taskPort.save(newTask(i));
+                if ((i + 1) % CHUNK_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        report("single transaction, flush every " + CHUNK_SIZE, start);
+    }
+
+    private Task newTask(int i) {
+        return new Task(null, TENANT, projectId, "Task " + i, "Generated by benchmark", LocalDate.now().plusDays(i % 30), false, LocalDateTime.now());
+    }
+
+    private void report(String scenario, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        log.info("[bulk insert] {}: {} tasks in {} s ({} tasks/s)",
+                scenario, TASKS, String.format("%.2f", seconds), String.format("%.0f", TASKS / seconds));
+    }
+}
@@ -0,0 +1,162 @@
+package fr.corentinbringer.smarttasks.benchmark;
+
+import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JMH microbenchmark of {@link TenantContext}: lookup cost of the ScopedValue binding against the
+ * ThreadLocal fallback, and a fan-out of virtual threads that block while holding a monitor
+ * ({@code synchronized}) or a {@link ReentrantLock}. Before JDK 24 the monitor pins the carrier thread,
+ * so that fan-out is bounded by the number of carriers. Run with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenantContextBenchmark {
+
+    private static final String TENANT = "benchmark-tenant";
+    private static final int LOOKUPS = 1_000;
+    private static final int VIRTUAL_THREADS = 1_000;
+
+    @Setup
+    public void bindFallback() {
+        TenantContext.setTenant(TENANT);
+    }
+
+    @TearDown
+    public void clearFallback() {
+        TenantContext.clear();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(LOOKUPS)
+    public void threadLocalLookup(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) {
+            blackhole.consume(TenantContext.getTenant());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(LOOKUPS)
+    public void scopedValueLookup(Blackhole blackhole) {
+        TenantContext.runWithTenant(TENANT, () -> {
+            for (int i = 0; i < LOOKUPS; i++) {
+                blackhole.consume(TenantContext.getTenant());
+            }
+        });
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fanOutWithThreadLocal(Blackhole blackhole) throws InterruptedException {
+        fanOut(false, () -> {
+            TenantContext.setTenant(TENANT);
+            try {
+                blackhole.consume(TenantContext.getTenant());
+                sleep();
+            } finally {
+                TenantContext.clear();
+            }
+        });
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fanOutWithScopedValue(Blackhole blackhole) throws InterruptedException {
+        fanOut(true, () -> {
+            blackhole.consume(TenantContext.getTenant());
+            sleep();
+        });
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fanOutBlockingInSynchronized(Blackhole blackhole) throws InterruptedException {
+        fanOut(true, () -> {
+            Object monitor = new Object();
+            synchronized (monitor) {
+                blackhole.consume(TenantContext.getTenant());
+                sleep();
+            }
+        });
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fanOutBlockingInReentrantLock(Blackhole blackhole) throws InterruptedException {
+        fanOut(true, () -> {
+            ReentrantLock lock = new ReentrantLock();
+            lock.lock();
+            try {
+                blackhole.consume(TenantContext.getTenant());
+                sleep();
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void fanOut(boolean propagate, Runnable task) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(VIRTUAL_THREADS);
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            Executor executor = propagate ? TenantContext.propagating(virtualThreads) : virtualThreads;
+
+            TenantContext.runWithTenant(TENANT, () -> {
+                for (int i = 0; i < VIRTUAL_THREADS; i++) {
+                    executor.execute(() -> {
+                        task.run();
+                        done.countDown();
+                    });
+                }
+            });
+
+            done.await();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder().include(getClass().getName()).build()).run();
+    }
+}
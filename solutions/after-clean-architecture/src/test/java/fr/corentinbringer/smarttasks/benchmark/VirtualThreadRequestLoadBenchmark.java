@@ -0,0 +1,15 @@
+package fr.corentinbringer.smarttasks.benchmark;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Requests on virtual threads, with the {@code virtual-threads} profile. Run with {@code mvn test -Pbenchmark}.
+ */
+@ActiveProfiles("virtual-threads")
+class VirtualThreadRequestLoadBenchmark extends RequestLoadBenchmarkSupport {
+
+    @Override
+    protected String mode() {
+        return "virtual threads";
+    }
+}
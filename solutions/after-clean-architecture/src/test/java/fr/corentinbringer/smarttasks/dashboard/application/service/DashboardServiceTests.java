@@ -0,0 +1,51 @@
+package fr.corentinbringer.smarttasks.dashboard.application.service;
+
+import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
+import fr.corentinbringer.smarttasks.dashboard.application.port.out.DashboardPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "smarttasks.dashboard.fan-out.enabled=true",
+        "smarttasks.dashboard.fan-out.timeout=1s"
+})
+class DashboardServiceTests {
+
+    private static final String TENANT = "dashboard-deadline-tenant";
+    private static final String SLOW_QUERY = "SELECT 1 FROM pg_sleep(30)";
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private DashboardPort dashboardPort;
+
+    @Test
+    void slowQueryIsCancelledAtTheFanOutDeadline() {
+        doAnswer(invocation -> jdbcTemplate.queryForObject(SLOW_QUERY, Long.class)).when(dashboardPort).countTasks(anyString());
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> TenantContext.runWithTenant(TENANT, dashboardService::getDashboardData))
+                .isInstanceOf(RuntimeException.class);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // The query timeout is the deadline rounded up to whole seconds
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(3));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE query = ? AND state = 'active'", Long.class, SLOW_QUERY))
+                .isZero();
+    }
+}
@@ -0,0 +1,313 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence;
+
+import fr.corentinbringer.smarttasks.dashboard.infrastructure.persistence.DashboardPersistenceAdapter;
+import fr.corentinbringer.smarttasks.project.application.port.out.ModificationStampPort;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter.ModificationStampPersistenceAdapter;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.adapter.StoredObjectPersistenceAdapter;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.AttachmentRepository;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.ProjectRepository;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.jpa.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.argumentSet;
+
+/**
+ * Calls each repository query and runs EXPLAIN on the SQL it sent, as generated by Hibernate or written
+ * in the adapter. Sequential scans are disabled so the planner only falls back to them when no index
+ * can serve the query, which is exactly what must not happen.
+ */
+@SpringBootTest
+class RepositoryQueryPlanTests {
+
+    private static final String TENANT = "query-plan-tenant";
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalDateTime TIMESTAMP = DAY.atStartOfDay();
+
+    /** SQL prepared on the current thread while a repository call runs, or null outside of one. */
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private ModificationStampPersistenceAdapter modificationStampAdapter;
+
+    @Autowired
+    private StoredObjectPersistenceAdapter storedObjectAdapter;
+
+    @Autowired
+    private DashboardPersistenceAdapter dashboardAdapter;
+
+    static Stream<Arguments> repositoryQueries() {
+        Pageable secondPage = PageRequest.of(1, 20);
+
+        return Stream.of(
+                query("ProjectRepository.findAllByTenantId",
+                        test -> test.projectRepository.findAllByTenantId(TENANT, secondPage),
+                        "idx_projects_tenant_created", false),
+                query("ProjectRepository.findFirstByTenantId",
+                        test -> test.projectRepository.findFirstByTenantId(TENANT, Limit.of(21)),
+                        "idx_projects_tenant_created", true),
+                query("ProjectRepository.findNextByTenantId",
+                        test -> test.projectRepository.findNextByTenantId(TENANT, TIMESTAMP, 10L, Limit.of(21)),
+                        "idx_projects_tenant_created", true),
+                query("ProjectRepository.findByIdAndTenantId",
+                        test -> test.projectRepository.findByIdAndTenantId(1L, TENANT),
+                        "Index", false),
+                query("ProjectRepository.existsByIdAndTenantId",
+                        test -> test.projectRepository.existsByIdAndTenantId(1L, TENANT),
+                        "Index", false),
+                query("ProjectRepository.findVersionByIdAndTenantId",
+                        test -> test.projectRepository.findVersionByIdAndTenantId(1L, TENANT),
+                        "Index", false),
+                query("ProjectRepository.countByTenantId",
+                        test -> test.projectRepository.countByTenantId(TENANT),
+                        "idx_projects_tenant_created", false),
+                query("ProjectRepository.findLatestProjectsByTenantId",
+                        test -> test.projectRepository.findLatestProjectsByTenantId(TENANT, Pageable.ofSize(5)),
+                        "idx_projects_tenant_created", true),
+
+                query("TaskRepository.findAllByProjectIdAndTenantId",
+                        test -> test.taskRepository.findAllByProjectIdAndTenantId(1L, TENANT, secondPage),
+                        "idx_tasks_tenant_project_created", true),
+                query("TaskRepository.countByProjectIdAndTenantId",
+                        test -> test.taskRepository.countByProjectIdAndTenantId(1L, TENANT),
+                        "idx_tasks_tenant_project_created", false),
+                query("TaskRepository.findFirstByProjectIdAndTenantId",
+                        test -> test.taskRepository.findFirstByProjectIdAndTenantId(1L, TENANT, Limit.of(21)),
+                        "idx_tasks_tenant_project_created", true),
+                query("TaskRepository.findNextByProjectIdAndTenantId",
+                        test -> test.taskRepository.findNextByProjectIdAndTenantId(1L, TENANT, TIMESTAMP, 10L, Limit.of(21)),
+                        "idx_tasks_tenant_project_created", true),
+                query("TaskRepository.findByIdAndTenantId",
+                        test -> test.taskRepository.findByIdAndTenantId(1L, TENANT),
+                        "Index", false),
+                query("TaskRepository.existsByIdAndTenantId",
+                        test -> test.taskRepository.existsByIdAndTenantId(1L, TENANT),
+                        "Index", false),
+                query("TaskRepository.findVersionByIdAndTenantId",
+                        test -> test.taskRepository.findVersionByIdAndTenantId(1L, TENANT),
+                        "Index", false),
+                query("TaskRepository.countByTenantId",
+                        test -> test.taskRepository.countByTenantId(TENANT),
+                        "idx_tasks_tenant_project_created", false),
+                query("TaskRepository.countOverdueTasksByTenantId",
+                        test -> test.taskRepository.countOverdueTasksByTenantId(TENANT, DAY),
+                        "idx_tasks_tenant_open_due", false),
+
+                query("AttachmentRepository.findAllByTaskIdAndTenantId",
+                        test -> test.attachmentRepository.findAllByTaskIdAndTenantId(1L, TENANT, secondPage),
+                        "idx_attachments_tenant_task_uploaded", true),
+                query("AttachmentRepository.countByTaskIdAndTenantId",
+                        test -> test.attachmentRepository.countByTaskIdAndTenantId(1L, TENANT),
+                        "idx_attachments_tenant_task_uploaded", false),
+                query("AttachmentRepository.findFirstByTaskIdAndTenantId",
+                        test -> test.attachmentRepository.findFirstByTaskIdAndTenantId(1L, TENANT, Limit.of(21)),
+                        "idx_attachments_tenant_task_uploaded", true),
+                query("AttachmentRepository.findNextByTaskIdAndTenantId",
+                        test -> test.attachmentRepository.findNextByTaskIdAndTenantId(1L, TENANT, TIMESTAMP, 10L, Limit.of(21)),
+                        "idx_attachments_tenant_task_uploaded", true),
+                query("AttachmentRepository.findByIdAndTenantId",
+                        test -> test.attachmentRepository.findByIdAndTenantId(1L, TENANT),
+                        "Index", false),
+
+                query("ModificationStampPersistenceAdapter.findStamp",
+                        test -> test.modificationStampAdapter.findStamp(TENANT, ModificationStampPort.Collection.TASKS, 1L),
+                        "modification_stamps_pkey", false),
+                query("ModificationStampPersistenceAdapter.findTenantStamp",
+                        test -> test.modificationStampAdapter.findTenantStamp(TENANT),
+                        "modification_stamps_pkey", false),
+
+                query("StoredObjectPersistenceAdapter.removeReference",
+                        test -> test.storedObjectAdapter.removeReference("query-plan-object"),
+                        "stored_objects_pkey", false),
+                query("StoredObjectPersistenceAdapter.isTracked",
+                        test -> test.storedObjectAdapter.isTracked("query-plan-object"),
+                        "stored_objects_pkey", false),
+                query("StoredObjectPersistenceAdapter.lockUnreferenced",
+                        test -> test.storedObjectAdapter.lockUnreferenced("query-plan-object"),
+                        "stored_objects_unreferenced_idx", false),
+                query("StoredObjectPersistenceAdapter.deleteUnreferenced",
+                        test -> test.storedObjectAdapter.deleteUnreferenced("query-plan-object"),
+                        "stored_objects_unreferenced_idx", false),
+                query("StoredObjectPersistenceAdapter.findUnreferenced",
+                        test -> test.storedObjectAdapter.findUnreferenced(10),
+                        "stored_objects_unreferenced_idx", false),
+
+                query("DashboardPersistenceAdapter.loadSnapshot",
+                        test -> test.dashboardAdapter.loadSnapshot(TENANT, DAY, 5),
+                        "tenant_task_due_buckets_pkey", false)
+        );
+    }
+
+    private static Arguments query(String name, Consumer<RepositoryQueryPlanTests> call, String expectedIndex, boolean ordered) {
+        return argumentSet(name, call, expectedIndex, ordered);
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositoryQueries")
+    void queryPlanUsesAnIndex(Consumer<RepositoryQueryPlanTests> call, String expectedIndex, boolean ordered) {
+        List<String> statements = capture(call);
+
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+
+            assertThat(plan).as(sql).contains(expectedIndex).doesNotContain("Seq Scan");
+            if (ordered) {
+                assertThat(plan).as(sql).doesNotContain("Sort");
+            }
+        }
+    }
+
+    private List<String> capture(Consumer<RepositoryQueryPlanTests> call) {
+        // A cached lookup would not reach the database at all
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            call.accept(this);
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    private String explain(String sql) {
+        long parameters = sql.chars().filter(c -> c == '?').count();
+        String arguments = String.join(", ", Collections.nCopies((int) parameters, "NULL"));
+
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                // The plan a prepared statement falls back to, which doesn't depend on the NULLs passed below
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE query_plan AS " + numberParameters(sql));
+
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery(
+                        parameters == 0 ? "EXPLAIN EXECUTE query_plan" : "EXPLAIN EXECUTE query_plan(" + arguments + ")")) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("DEALLOCATE query_plan");
+                    statement.execute("RESET plan_cache_mode");
+                    statement.execute("RESET enable_seqscan");
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    /**
+     * Turns JDBC placeholders into the numbered ones PREPARE expects. None of the queries has a
+     * question mark inside a literal.
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Records the SQL of every statement prepared through the application's data source, whether by
+     * Hibernate or by a {@code JdbcTemplate}.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new StatementCapturingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static class StatementCapturingDataSource extends DelegatingDataSource {
+
+        StatementCapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return capturing(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return capturing(super.getConnection(username, password));
+        }
+
+        private static Connection capturing(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        List<String> statements = CAPTURED.get();
+                        if (statements != null && method.getName().startsWith("prepare") && args[0] instanceof String sql) {
+                            statements.add(sql);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence;
+
+import fr.corentinbringer.smarttasks.configuration.tenant.TenantContext;
+import fr.corentinbringer.smarttasks.project.application.service.ProjectService;
+import fr.corentinbringer.smarttasks.project.application.service.TaskService;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskCreateRequest;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskImportLine;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Counts the SQL statements behind the detail lookups, which run on nearly every request, to check
+ * that repeated lookups are answered by the second-level cache and never across tenants.
+ */
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    private static final String TENANT = "l2-cache-tenant";
+    private static final String OTHER_TENANT = "l2-cache-other-tenant";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    private Statistics statistics;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        projectId = jdbcTemplate.queryForObject("""
+                INSERT INTO projects (id, tenant_id, name, created_on)
+                VALUES (nextval('projects_seq'), ?, 'Cached', localtimestamp)
+                RETURNING id
+                """, Long.class, TENANT);
+        taskId = jdbcTemplate.queryForObject("""
+                INSERT INTO tasks (id, tenant_id, project_id, title, completed, created_on)
+                VALUES (nextval('tasks_seq'), ?, ?, 'Cached task', false, localtimestamp)
+                RETURNING id
+                """, Long.class, TENANT, projectId);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.update("DELETE FROM projects WHERE tenant_id = ?", TENANT);
+    }
+
+    @Test
+    void repeatedTaskLookupRunsNoSql() {
+        long first = statementsFor(() -> taskService.findByIdResponse(taskId), TENANT);
+        long hitsBefore = statistics.getQueryCacheHitCount();
+        long second = statementsFor(() -> taskService.findByIdResponse(taskId), TENANT);
+
+        assertThat(first).isPositive();
+        assertThat(second).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    void repeatedProjectLookupRunsNoSql() {
+        long first = statementsFor(() -> projectService.findByIdResponse(projectId), TENANT);
+        long second = statementsFor(() -> projectService.findByIdResponse(projectId), TENANT);
+
+        assertThat(first).isPositive();
+        assertThat(second).isZero();
+    }
+
+    @Test
+    void cachedEntryIsNeverServedToAnotherTenant() {
+        statementsFor(() -> taskService.findByIdResponse(taskId), TENANT);
+
+        long otherTenantStatements = statementsFor(() -> assertThatThrownBy(() -> taskService.findByIdResponse(taskId))
+                .isInstanceOf(NoSuchElementException.class), OTHER_TENANT);
+
+        assertThat(otherTenantStatements).isPositive();
+    }
+
+    @Test
+    void importIntoTasksInvalidatesCachedLookups() {
+        statementsFor(() -> taskService.findByIdResponse(taskId), TENANT);
+
+        TenantContext.runWithTenant(TENANT, () -> taskService.importCsv(projectId,
+                Stream.of(new TaskImportLine(1, new TaskCreateRequest("Imported", null, null), Map.of()))));
+        long afterImport = statementsFor(() -> taskService.findByIdResponse(taskId), TENANT);
+
+        assertThat(afterImport).isPositive();
+    }
+
+    private long statementsFor(Runnable request, String tenantId) {
+        long before = statistics.getPrepareStatementCount();
+        TenantContext.runWithTenant(tenantId, request);
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
@@ -0,0 +1,65 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache;
+
+import fr.corentinbringer.smarttasks.project.domain.event.TaskCreatedEvent;
+import fr.corentinbringer.smarttasks.project.infrastructure.persistence.cache.ListCountCache.ListKind;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListCountCacheTests {
+
+    private static final String TENANT = "tenant";
+
+    private final ListCountCache cache = new ListCountCache(100, Duration.ofMinutes(10));
+
+    @Test
+    void countIsCachedUntilTheListChanges() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(ListKind.TASKS, TENANT, 1L, () -> loads.incrementAndGet() * 10L);
+        long cached = cache.get(ListKind.TASKS, TENANT, 1L, () -> loads.incrementAndGet() * 10L);
+        cache.onTaskCreated(new TaskCreatedEvent(TENANT, 1L, 1, Map.of()));
+        long reloaded = cache.get(ListKind.TASKS, TENANT, 1L, () -> loads.incrementAndGet() * 10L);
+
+        assertThat(cached).isEqualTo(10L);
+        assertThat(reloaded).isEqualTo(20L);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void countOverlappingACommitIsNotKept() throws Exception {
+        Thread commit = new Thread(() -> cache.onTaskCreated(new TaskCreatedEvent(TENANT, 1L, 1, Map.of())));
+
+        // The insert commits, and its invalidation runs, while the count that missed it is still running
+        long stale = cache.get(ListKind.TASKS, TENANT, 1L, () -> {
+            commit.start();
+            awaitBlockedOrDone(commit);
+            return 5L;
+        });
+        commit.join();
+        long next = cache.get(ListKind.TASKS, TENANT, 1L, () -> 6L);
+
+        assertThat(stale).isEqualTo(5L);
+        assertThat(next).isEqualTo(6L);
+    }
+
+    @Test
+    void commitOnAnotherListKeepsTheCount() {
+        cache.get(ListKind.TASKS, TENANT, 1L, () -> 5L);
+        cache.onTaskCreated(new TaskCreatedEvent(TENANT, 2L, 1, Map.of()));
+
+        assertThat(cache.get(ListKind.TASKS, TENANT, 1L, () -> 6L)).isEqualTo(5L);
+    }
+
+    private static void awaitBlockedOrDone(Thread thread) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.WAITING
+                && thread.getState() != Thread.State.TERMINATED && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.storage;
+
+import fr.corentinbringer.smarttasks.project.application.port.out.FileRegion;
+import fr.corentinbringer.smarttasks.project.application.port.out.FileStoragePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DiskCachingFileStorageTests {
+
+    private final FileStoragePort delegate = mock(FileStoragePort.class);
+
+    @BeforeEach
+    void answerRangedReads() throws Exception {
+        when(delegate.downloadFile(eq("key"), anyLong(), anyLong())).thenAnswer(invocation -> InputStream.nullInputStream());
+    }
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void onlyLeftoversOfItsOwnSubdirectoryAreDeleted() throws Exception {
+        Path cacheDirectory = Files.createDirectories(directory.resolve("disk-cache"));
+        Path leftover = Files.writeString(cacheDirectory.resolve("object-123.bin"), "stale");
+        // Another application's files, next to the cache's subdirectory
+        Path foreign = Files.writeString(directory.resolve("object-456.bin"), "not ours");
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "not ours either");
+
+        try (DiskCachingFileStorage ignored = create()) {
+            assertThat(leftover).doesNotExist();
+            assertThat(foreign).exists();
+            assertThat(unrelated).exists();
+        }
+    }
+
+    @Test
+    void subdirectoryIsReadableByItsOwnerOnly() throws Exception {
+        assumeTrue(Files.getFileAttributeView(directory, PosixFileAttributeView.class) != null);
+
+        try (DiskCachingFileStorage ignored = create()) {
+            assertThat(Files.getPosixFilePermissions(directory.resolve("disk-cache")))
+                    .isEqualTo(PosixFilePermissions.fromString("rwx------"));
+        }
+    }
+
+    @Test
+    void missIsAnsweredWithoutWaitingForTheCacheToFill() throws Exception {
+        CountDownLatch fetchMayFinish = new CountDownLatch(1);
+        when(delegate.downloadFile("key")).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().startsWith("attachment-cache-fetch-")) {
+                fetchMayFinish.await();
+            }
+            return new ByteArrayInputStream("cached content".getBytes(StandardCharsets.UTF_8));
+        });
+
+        try (DiskCachingFileStorage storage = create()) {
+            // The cache is still being filled: both reads come from the delegate
+            assertThat(read(storage)).isEqualTo("cached content");
+            assertThat(read(storage)).isEqualTo("cached content");
+
+            fetchMayFinish.countDown();
+            awaitCachedFile(storage);
+            assertThat(read(storage)).isEqualTo("cached content");
+
+            // Two reads and the fetch that filled the cache
+            verify(delegate, times(3)).downloadFile("key");
+        }
+    }
+
+    @Test
+    void missesWhileTheCacheFillsShareOneFetch() throws Exception {
+        CountDownLatch fetchMayFinish = new CountDownLatch(1);
+        AtomicInteger fetches = new AtomicInteger();
+        when(delegate.downloadFile("key")).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().startsWith("attachment-cache-fetch-")) {
+                fetches.incrementAndGet();
+                fetchMayFinish.await();
+            }
+            return new ByteArrayInputStream("cached content".getBytes(StandardCharsets.UTF_8));
+        });
+
+        try (DiskCachingFileStorage storage = create()) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(read(storage)).isEqualTo("cached content");
+                storage.downloadFile("key", 0, 1).close();
+            }
+            fetchMayFinish.countDown();
+            awaitCachedFile(storage);
+
+            assertThat(fetches).hasValue(1);
+        }
+    }
+
+    /**
+     * Polls with one-byte ranged reads, which the delegate answers until the cache has the object.
+     */
+    private void awaitCachedFile(DiskCachingFileStorage storage) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (true) {
+            try (InputStream content = storage.downloadFile("key", 0, 1)) {
+                if (content instanceof FileRegion) {
+                    return;
+                }
+            }
+            assertThat(System.nanoTime()).as("cache filled in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private DiskCachingFileStorage create() throws IOException {
+        return new DiskCachingFileStorage(delegate, directory, 1024 * 1024, Duration.ZERO, new SimpleMeterRegistry());
+    }
+
+    private static String read(DiskCachingFileStorage storage) throws Exception {
+        try (InputStream content = storage.downloadFile("key")) {
+            return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
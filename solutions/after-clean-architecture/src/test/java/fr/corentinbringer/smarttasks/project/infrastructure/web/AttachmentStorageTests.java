@@ -0,0 +1,215 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web;
+
+import com.jayway.jsonpath.JsonPath;
+import fr.corentinbringer.smarttasks.project.application.port.out.FileStoragePort;
+import fr.corentinbringer.smarttasks.project.application.service.StoredObjectService;
+import fr.corentinbringer.smarttasks.project.domain.model.Attachment;
+import fr.corentinbringer.smarttasks.project.infrastructure.scheduling.UnreferencedObjectSweeper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Attachments with the same content share one stored object, which leaves storage only once the
+ * removal of its last reference has committed. Uploads that don't become an object leave storage
+ * once their transaction has completed.
+ */
+class AttachmentStorageTests extends WebApiTestSupport {
+
+    private static final String TENANT = "attachment-storage-tenant";
+
+    @Autowired
+    private FileStoragePort fileStoragePort;
+
+    @Autowired
+    private StoredObjectService storedObjectService;
+
+    @Autowired
+    private UnreferencedObjectSweeper unreferencedObjectSweeper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Unique per test, so objects stored by a previous run can't be deduplicated against
+    private byte[] content;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        content = ("content " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        projectId = insertProject(TENANT, "Project", "2025-01-01 00:00:00");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deleteTenant(TENANT);
+    }
+
+    @Test
+    void sameContentUploadedTwiceIsStoredOnce() throws Exception {
+        Integer first = upload(newTask());
+        Integer second = upload(newTask());
+
+        String objectKey = objectKey(first);
+        assertThat(objectKey(second)).isEqualTo(objectKey);
+        assertThat(referenceCount(objectKey)).containsExactly(2L);
+        assertThat(isStored(objectKey)).isTrue();
+    }
+
+    @Test
+    void objectIsKeptUntilItsLastAttachmentIsDeleted() throws Exception {
+        Integer first = upload(newTask());
+        Integer second = upload(newTask());
+        String objectKey = objectKey(first);
+
+        delete(first);
+
+        assertThat(referenceCount(objectKey)).containsExactly(1L);
+        assertThat(isStored(objectKey)).isTrue();
+        mockMvc.perform(as(TENANT, HttpMethod.GET, "/api/attachments/{id}/download", second))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+
+        delete(second);
+
+        assertThat(referenceCount(objectKey)).isEmpty();
+        assertThat(isStored(objectKey)).isFalse();
+    }
+
+    @Test
+    void rolledBackDeletionKeepsTheObject() throws Exception {
+        Integer attachmentId = upload(newTask());
+        String objectKey = objectKey(attachmentId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            storedObjectService.detach(attachmentId.longValue(), TENANT);
+            status.setRollbackOnly();
+        });
+
+        assertThat(referenceCount(objectKey)).containsExactly(1L);
+        assertThat(isStored(objectKey)).isTrue();
+        mockMvc.perform(as(TENANT, HttpMethod.GET, "/api/attachments/{id}/download", attachmentId))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void sweepDeletesObjectsWhoseDeletionWasInterrupted() throws Exception {
+        String objectKey = objectKey(upload(newTask()));
+        dropReferencesBehindTheApplication(objectKey);
+
+        unreferencedObjectSweeper.sweep();
+
+        assertThat(referenceCount(objectKey)).isEmpty();
+        assertThat(isStored(objectKey)).isFalse();
+    }
+
+    @Test
+    void contentWhoseObjectAwaitsDeletionIsStoredAgain() throws Exception {
+        String objectKey = objectKey(upload(newTask()));
+        dropReferencesBehindTheApplication(objectKey);
+
+        Integer reuploaded = upload(newTask());
+        unreferencedObjectSweeper.sweep();
+
+        String reuploadedKey = objectKey(reuploaded);
+        assertThat(reuploadedKey).isNotEqualTo(objectKey);
+        assertThat(referenceCount(reuploadedKey)).containsExactly(1L);
+        assertThat(isStored(reuploadedKey)).isTrue();
+        assertThat(isStored(objectKey)).isFalse();
+    }
+
+    @Test
+    void duplicateUploadIsDeletedOnceTheAttachmentIsCommitted() throws Exception {
+        String objectKey = objectKey(upload(newTask()));
+        String stagedKey = stage();
+
+        Attachment attachment = new TransactionTemplate(transactionManager)
+                .execute(status -> storedObjectService.attach(newAttachment(stagedKey), contentKey(objectKey)));
+
+        assertThat(attachment.objectKey()).isEqualTo(objectKey);
+        assertThat(referenceCount(objectKey)).containsExactly(2L);
+        assertThat(isStored(stagedKey)).isFalse();
+    }
+
+    @Test
+    void rolledBackAttachmentDeletesTheUpload() throws Exception {
+        String stagedKey = stage();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            storedObjectService.attach(newAttachment(stagedKey), "rolled-back/" + UUID.randomUUID());
+            status.setRollbackOnly();
+        });
+
+        assertThat(referenceCount(stagedKey)).isEmpty();
+        assertThat(isStored(stagedKey)).isFalse();
+    }
+
+    private Long newTask() {
+        return insertTask(TENANT, projectId, "Task", "2025-01-01 00:00:00");
+    }
+
+    private String stage() throws Exception {
+        return fileStoragePort.uploadFile(new ByteArrayInputStream(content), "text/plain");
+    }
+
+    private Attachment newAttachment(String stagedKey) {
+        return new Attachment(null, TENANT, stagedKey, "same.txt", "text/plain", content.length, LocalDateTime.now(), newTask());
+    }
+
+    private Integer upload(Long taskId) throws Exception {
+        String response = mockMvc.perform(upload(TENANT, taskId, "same.txt", "text/plain", content))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.id");
+    }
+
+    private void delete(Integer attachmentId) throws Exception {
+        mockMvc.perform(as(TENANT, HttpMethod.DELETE, "/api/attachments/{id}", attachmentId))
+                .andExpect(status().isNoContent());
+    }
+
+    /**
+     * What a crash between the commit of the last detach and the deletion from storage leaves.
+     */
+    private void dropReferencesBehindTheApplication(String objectKey) {
+        jdbcTemplate.update("DELETE FROM attachments WHERE object_key = ?", objectKey);
+        jdbcTemplate.update("UPDATE stored_objects SET reference_count = 0 WHERE object_key = ?", objectKey);
+    }
+
+    private String objectKey(Integer attachmentId) {
+        return jdbcTemplate.queryForObject("SELECT object_key FROM attachments WHERE id = ?", String.class, attachmentId);
+    }
+
+    private String contentKey(String objectKey) {
+        return jdbcTemplate.queryForObject("SELECT content_key FROM stored_objects WHERE object_key = ?", String.class, objectKey);
+    }
+
+    private List<Long> referenceCount(String objectKey) {
+        return jdbcTemplate.queryForList("SELECT reference_count FROM stored_objects WHERE object_key = ?", Long.class, objectKey);
+    }
+
+    private boolean isStored(String objectKey) throws Exception {
+        try (InputStream ignored = fileStoragePort.downloadFile(objectKey)) {
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web;
+
+import com.jayway.jsonpath.JsonPath;
+import fr.corentinbringer.smarttasks.dashboard.application.service.TenantStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A list answers 304 to the ETag it sent until a write changes it, then 200 with a new ETag.
+ */
+class ConditionalGetTests extends WebApiTestSupport {
+
+    private static final String TENANT = "conditional-get-tenant";
+
+    @Autowired
+    private TenantStatsService tenantStatsService;
+
+    @AfterEach
+    void cleanUp() {
+        deleteTenant(TENANT);
+    }
+
+    @Test
+    void taskListChangesWhenATaskIsCreated() throws Exception {
+        Long projectId = insertProject(TENANT, "Project", "2025-01-01 00:00:00");
+        String uri = "/api/projects/" + projectId + "/tasks";
+        String etag = fetchETag(uri);
+
+        expectNotModified(uri, etag);
+        mockMvc.perform(as(TENANT, HttpMethod.POST, uri)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New task\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        assertThat(expectModified(uri, etag)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void attachmentListChangesOnUploadAndDelete() throws Exception {
+        Long taskId = insertTask(TENANT, insertProject(TENANT, "Project", "2025-01-01 00:00:00"), "Task", "2025-01-01 00:00:00");
+        String uri = "/api/tasks/" + taskId + "/attachments";
+        String initial = fetchETag(uri);
+
+        expectNotModified(uri, initial);
+        String response = mockMvc.perform(upload(TENANT, taskId, "notes.txt", "text/plain", "notes".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Integer attachmentId = JsonPath.read(response, "$.id");
+
+        String afterUpload = expectModified(uri, initial);
+        expectNotModified(uri, afterUpload);
+        mockMvc.perform(as(TENANT, HttpMethod.DELETE, "/api/attachments/{id}", attachmentId))
+                .andExpect(status().isNoContent());
+
+        assertThat(expectModified(uri, afterUpload)).isNotIn(initial, afterUpload);
+    }
+
+    @Test
+    void dashboardChangesWhenTheCountersAreRebuilt() throws Exception {
+        String uri = "/api/dashboard";
+        String etag = fetchETag(uri);
+        // Written behind the application's back, so only a rebuild brings it into the counters
+        insertProject(TENANT, "Project", "2025-01-01 00:00:00");
+
+        expectNotModified(uri, etag);
+        tenantStatsService.rebuild(TENANT);
+
+        String rebuilt = expectModified(uri, etag);
+        assertThat(rebuilt).isNotEqualTo(etag);
+        mockMvc.perform(as(TENANT, HttpMethod.GET, uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(jsonPath("$.activeProjectsCount").value(1));
+    }
+
+    private String fetchETag(String uri) throws Exception {
+        String etag = mockMvc.perform(as(TENANT, HttpMethod.GET, uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private void expectNotModified(String uri, String etag) throws Exception {
+        mockMvc.perform(as(TENANT, HttpMethod.GET, uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String expectModified(String uri, String etag) throws Exception {
+        String newETag = mockMvc.perform(as(TENANT, HttpMethod.GET, uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isNotBlank().isNotEqualTo(etag);
+        return newETag;
+    }
+}
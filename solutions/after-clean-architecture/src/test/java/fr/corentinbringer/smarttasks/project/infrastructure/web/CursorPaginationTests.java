@@ -0,0 +1,101 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks the cursor pages of the lists whose rows share creation times, and checks that cursor and
+ * offset parameters can't be mixed.
+ */
+class CursorPaginationTests extends WebApiTestSupport {
+
+    private static final String TENANT = "cursor-pagination-tenant";
+    private static final int ROWS = 23;
+
+    private Long projectId;
+
+    @BeforeEach
+    void seed() {
+        projectId = insertProject(TENANT, "Tasks", "2025-01-01 00:00:00");
+        for (int i = 0; i < ROWS; i++) {
+            // Only five distinct timestamps: most rows tie with their neighbours
+            String createdOn = "2025-02-0" + (1 + i % 5) + " 12:00:00";
+            insertProject(TENANT, "Project " + i, createdOn);
+            insertTask(TENANT, projectId, "Task " + i, createdOn);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deleteTenant(TENANT);
+    }
+
+    @Test
+    void projectPagesHaveNoDuplicatesOrGaps() throws Exception {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM projects WHERE tenant_id = ? ORDER BY created_on DESC, id DESC", Long.class, TENANT);
+
+        assertThat(walk("/api/projects")).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void taskPagesHaveNoDuplicatesOrGaps() throws Exception {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE project_id = ? ORDER BY created_on DESC, id DESC", Long.class, projectId);
+
+        assertThat(walk("/api/projects/" + projectId + "/tasks")).hasSize(ROWS).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void cursorCombinedWithOffsetParametersIsRejected() throws Exception {
+        for (String query : List.of("cursor=&page=1", "cursor=&count=false", "cursor=&sort=name", "cursor=&count=true")) {
+            mockMvc.perform(as(TENANT, HttpMethod.GET, "/api/projects?" + query))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Conflicting query parameters"));
+            mockMvc.perform(as(TENANT, HttpMethod.GET, "/api/projects/" + projectId + "/tasks?" + query))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void eachParameterSetReachesItsOwnMapping() throws Exception {
+        mockMvc.perform(as(TENANT, HttpMethod.GET, "/api/projects?page=1&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(ROWS + 1));
+        mockMvc.perform(as(TENANT, HttpMethod.GET, "/api/projects?count=false&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.last").value(false));
+        mockMvc.perform(as(TENANT, HttpMethod.GET, "/api/projects?cursor=&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").isString());
+    }
+
+    private List<Long> walk(String path) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        for (int page = 0; page < 100; page++) {
+            String body = mockMvc.perform(as(TENANT, HttpMethod.GET, path).queryParam("cursor", cursor).queryParam("size", "4"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            List<Number> pageIds = JsonPath.read(body, "$.content[*].id");
+            pageIds.forEach(id -> ids.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            if (cursor == null) {
+                return ids;
+            }
+        }
+        throw new AssertionError("Pagination did not end");
+    }
+}
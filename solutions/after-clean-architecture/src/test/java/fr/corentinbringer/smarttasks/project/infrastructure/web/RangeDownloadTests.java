@@ -0,0 +1,206 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Downloads of a 1000-byte attachment whose byte {@code i} is {@code i % 251}, so any slice shows
+ * where it was cut from.
+ */
+class RangeDownloadTests extends WebApiTestSupport {
+
+    private static final String TENANT = "range-download-tenant";
+    private static final int SIZE = 1000;
+    private static final Pattern BOUNDARY = Pattern.compile("multipart/byteranges; boundary=(\\S+)");
+
+    private final byte[] content = new byte[SIZE];
+    private String uri;
+
+    @BeforeEach
+    void uploadAttachment() throws Exception {
+        for (int i = 0; i < SIZE; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        Long taskId = insertTask(TENANT, insertProject(TENANT, "Project", "2025-01-01 00:00:00"), "Task", "2025-01-01 00:00:00");
+        String response = mockMvc.perform(upload(TENANT, taskId, "data.bin", "application/octet-stream", content))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        uri = "/api/attachments/" + JsonPath.<Integer>read(response, "$.id") + "/download";
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deleteTenant(TENANT);
+    }
+
+    @Test
+    void withoutRangeTheWholeContentIsSent() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(download())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentLengthLong()).isEqualTo(SIZE);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void singleRangeIsSentAsPartialContent() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/1000"))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentLengthLong()).isEqualTo(100);
+        assertThat(response.getContentAsByteArray()).isEqualTo(slice(100, 199));
+    }
+
+    @Test
+    void overlappingAndAdjacentRangesAreMergedIntoOne() throws Exception {
+        // 10-20 and 15-30 overlap, 31-40 starts right after them
+        MockHttpServletResponse response = mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=10-20,15-30,31-40"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-40/1000"))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(slice(10, 40));
+    }
+
+    @Test
+    void disjointRangesAreSentInOrderAsMultipartWithAnExactLength() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=900-909,0-4,2-9,500-"))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse();
+
+        Matcher contentType = BOUNDARY.matcher(response.getContentType());
+        assertThat(contentType.matches()).isTrue();
+        String boundary = contentType.group(1);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.writeBytes(part("", boundary, 0, 9));
+        expected.writeBytes(part("\r\n", boundary, 500, 999));
+        expected.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(expected.toByteArray());
+        assertThat(response.getContentLengthLong()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void suffixRangeSelectsTheLastBytes() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=-100"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 900-999/1000"))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(slice(900, 999));
+    }
+
+    @Test
+    void suffixLongerThanTheContentSelectsAllOfIt() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=-5000"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-999/1000"));
+    }
+
+    @Test
+    void unsatisfiableRangeAnswers416WithTheSize() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=1000-1100,2000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void unparsableRangeIsIgnored() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "lines=1-2"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE));
+    }
+
+    @Test
+    void ifRangeWithTheCurrentStrongETagHonoursTheRange() throws Exception {
+        String eTag = mockMvc.perform(download()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"");
+
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, eTag))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/1000"));
+    }
+
+    @Test
+    void ifRangeWithAnotherETagSendsTheWholeContent() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"attachment-other\""))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE));
+    }
+
+    @Test
+    void ifRangeWithAWeakETagNeverMatches() throws Exception {
+        String eTag = mockMvc.perform(download()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "W/" + eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE));
+    }
+
+    @Test
+    void ifRangeWithTheLastModifiedDateHonoursTheRange() throws Exception {
+        String lastModified = mockMvc.perform(download()).andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, lastModified))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/1000"));
+    }
+
+    @Test
+    void ifRangeWithAnotherDateSendsTheWholeContent() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "Wed, 01 Jan 2020 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE));
+    }
+
+    @Test
+    void headAnnouncesTheLengthWithoutABody() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(as(TENANT, HttpMethod.HEAD, uri))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE))
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private MockHttpServletRequestBuilder download() {
+        return as(TENANT, HttpMethod.GET, uri);
+    }
+
+    private byte[] slice(int start, int end) {
+        return Arrays.copyOfRange(content, start, end + 1);
+    }
+
+    private byte[] part(String lineBreak, String boundary, int start, int end) {
+        ByteArrayOutputStream part = new ByteArrayOutputStream();
+        part.writeBytes((lineBreak + "--" + boundary + "\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "Content-Range: bytes " + start + "-" + end + "/" + SIZE + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        part.writeBytes(slice(start, end));
+        return part.toByteArray();
+    }
+}
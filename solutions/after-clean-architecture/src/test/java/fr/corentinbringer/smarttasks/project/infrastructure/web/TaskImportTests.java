@@ -0,0 +1,96 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "smarttasks.tasks.import.max-body-size=1KB",
+        "smarttasks.tasks.import.max-record-length=100"
+})
+class TaskImportTests extends WebApiTestSupport {
+
+    private static final String TENANT = "task-import-tenant";
+
+    @AfterEach
+    void cleanUp() {
+        deleteTenant(TENANT);
+    }
+
+    @Test
+    void lineOverTheRecordLimitIsRejectedByNumber() throws Exception {
+        Long projectId = insertProject(TENANT, "Project", "2025-01-01 00:00:00");
+        String csv = "title,description\nfirst,\ntoo long,\"" + "x".repeat(100) + "\"\nlast,\n";
+
+        mockMvc.perform(importCsv(projectId, csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(2))
+                .andExpect(jsonPath("$.rejectedCount").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].details.line").value("longer than 100 characters"))
+                .andExpect(jsonPath("$.errors[0].details.title").doesNotExist());
+
+        assertThat(taskTitles(projectId)).containsExactlyInAnyOrder("first", "last");
+    }
+
+    @Test
+    void importedTasksTakeConsecutiveIdsFromOneBlockAndTheApplicationClock() throws Exception {
+        Long projectId = insertProject(TENANT, "Project", "2025-01-01 00:00:00");
+        String csv = "title\n" + IntStream.rangeClosed(1, 20).mapToObj(i -> "task " + i + "\n").collect(Collectors.joining());
+        LocalDateTime before = LocalDateTime.now();
+
+        mockMvc.perform(importCsv(projectId, csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(20));
+
+        LocalDateTime after = LocalDateTime.now();
+        List<Map<String, Object>> tasks = jdbcTemplate.queryForList(
+                "SELECT id, title, created_on FROM tasks WHERE project_id = ? ORDER BY id", projectId);
+        long firstId = ((Number) tasks.getFirst().get("id")).longValue();
+        for (int i = 0; i < tasks.size(); i++) {
+            Map<String, Object> task = tasks.get(i);
+            assertThat(((Number) task.get("id")).longValue()).isEqualTo(firstId + i);
+            assertThat(task.get("title")).isEqualTo("task " + (i + 1));
+            assertThat(((Timestamp) task.get("created_on")).toLocalDateTime()).isBetween(before, after);
+        }
+        // 20 rows fit in the single 50-id block they reserved
+        assertThat(jdbcTemplate.queryForObject("SELECT last_value FROM tasks_seq", Long.class))
+                .isEqualTo(firstId + 49);
+    }
+
+    @Test
+    void bodyOverTheSizeLimitIsRefused() throws Exception {
+        Long projectId = insertProject(TENANT, "Project", "2025-01-01 00:00:00");
+        String csv = "title\n" + "task\n".repeat(300);
+
+        mockMvc.perform(importCsv(projectId, csv))
+                .andExpect(status().isContentTooLarge())
+                .andExpect(jsonPath("$.maxSize").value(1024));
+
+        assertThat(taskTitles(projectId)).isEmpty();
+    }
+
+    private MockHttpServletRequestBuilder importCsv(Long projectId, String csv) {
+        return as(TENANT, HttpMethod.POST, "/api/projects/{id}/tasks/import", projectId)
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> taskTitles(Long projectId) {
+        return jdbcTemplate.queryForList("SELECT title FROM tasks WHERE project_id = ?", String.class, projectId);
+    }
+}
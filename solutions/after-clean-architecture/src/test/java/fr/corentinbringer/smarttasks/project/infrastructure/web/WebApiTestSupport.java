@@ -0,0 +1,92 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web;
+
+import fr.corentinbringer.smarttasks.configuration.security.LocalSigningKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * Calls the API through the whole filter chain, authenticated with tokens minted by the local signing
+ * key, with attachments stored under {@code target/}. Subclasses share one application context.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "smarttasks.security.jwt.offline.enabled=true",
+        "smarttasks.security.jwt.local-signing-key.enabled=true",
+        "smarttasks.storage.filesystem.enabled=true",
+        "smarttasks.storage.filesystem.directory=target/test-storage",
+        "smarttasks.storage.filesystem.fsync=NONE"
+})
+@AutoConfigureMockMvc
+abstract class WebApiTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LocalSigningKey localSigningKey;
+
+    protected MockHttpServletRequestBuilder as(String tenantId, HttpMethod method, String uri, Object... uriVariables) {
+        return request(method, uri, uriVariables)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + localSigningKey.mint(tenantId, Duration.ofHours(1)));
+    }
+
+    /**
+     * Uploads {@code content} as the file of a new attachment of the task, in a raw multipart body as
+     * a client sends it: the upload is parsed from the request stream, not from servlet parts.
+     */
+    protected MockHttpServletRequestBuilder upload(String tenantId, Long taskId, String fileName, String contentType, byte[] content) {
+        String boundary = "test-boundary-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return as(tenantId, HttpMethod.POST, "/api/tasks/{id}/attachments", taskId)
+                .contentType("multipart/form-data; boundary=" + boundary)
+                .content(body.toByteArray());
+    }
+
+    protected Long insertProject(String tenantId, String name, String createdOn) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO projects (id, tenant_id, name, created_on)
+                VALUES (nextval('projects_seq'), ?, ?, CAST(? AS timestamp))
+                RETURNING id
+                """, Long.class, tenantId, name, createdOn);
+    }
+
+    protected Long insertTask(String tenantId, Long projectId, String title, String createdOn) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO tasks (id, tenant_id, project_id, title, completed, created_on)
+                VALUES (nextval('tasks_seq'), ?, ?, ?, false, CAST(? AS timestamp))
+                RETURNING id
+                """, Long.class, tenantId, projectId, title, createdOn);
+    }
+
+    protected void deleteTenant(String tenantId) {
+        jdbcTemplate.update("DELETE FROM attachments WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM stored_objects WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM projects WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM modification_stamps WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM tenant_stats WHERE tenant_id = ?", tenantId);
+        jdbcTemplate.update("DELETE FROM tenant_task_due_buckets WHERE tenant_id = ?", tenantId);
+    }
+}
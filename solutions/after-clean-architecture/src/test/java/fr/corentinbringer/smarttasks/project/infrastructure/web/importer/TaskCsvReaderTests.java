@@ -0,0 +1,191 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.importer;
+
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskCreateRequest;
+import fr.corentinbringer.smarttasks.project.infrastructure.web.model.TaskImportLine;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCsvReaderTests {
+
+    private static final int MAX_RECORD_LENGTH = 200;
+
+    private static ValidatorFactory validatorFactory;
+
+    @BeforeAll
+    static void createValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void quotedFieldsKeepQuotesSeparatorsAndLineBreaks() {
+        List<TaskImportLine> lines = read("title,description\n\"say \"\"hi\"\", then go\",\"first\nsecond, third\"\n");
+
+        assertThat(lines).singleElement().satisfies(line -> {
+            assertThat(line.request().title()).isEqualTo("say \"hi\", then go");
+            assertThat(line.request().description()).isEqualTo("first\nsecond, third");
+            assertThat(line.errors()).isEmpty();
+        });
+    }
+
+    @Test
+    void crlfAndLfLineEndingsAreBothAccepted() {
+        List<TaskImportLine> crlf = read("title,dueDate\r\none,2025-01-02\r\ntwo,\r\n");
+        List<TaskImportLine> lf = read("title,dueDate\none,2025-01-02\ntwo,\n");
+
+        for (List<TaskImportLine> lines : List.of(crlf, lf)) {
+            assertThat(lines).extracting(TaskImportLine::line).containsExactly(2L, 3L);
+            assertThat(lines).extracting(line -> line.request().title()).containsExactly("one", "two");
+            assertThat(lines).extracting(line -> line.request().dueDate()).containsExactly(LocalDate.of(2025, 1, 2), null);
+        }
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreak() {
+        assertThat(read("title\r\nlast")).extracting(line -> line.request().title()).containsExactly("last");
+    }
+
+    @Test
+    void blankLinesAreSkippedButCounted() {
+        List<TaskImportLine> lines = read("title\n\none\r\n\r\n\ntwo\n\n");
+
+        assertThat(lines).extracting(TaskImportLine::line).containsExactly(3L, 6L);
+        assertThat(lines).extracting(line -> line.request().title()).containsExactly("one", "two");
+    }
+
+    @Test
+    void recordsSpanningSeveralLinesReportTheLineTheyStartOn() {
+        List<TaskImportLine> lines = read("title,description\nfirst,\"a\nb\nc\"\nsecond,\"d\r\ne\"\nthird,\n");
+
+        assertThat(lines).extracting(TaskImportLine::line).containsExactly(2L, 5L, 7L);
+        assertThat(lines.get(1).request().description()).isEqualTo("d\r\ne");
+    }
+
+    @Test
+    void unterminatedQuoteAtEndOfFileIsReportedOnItsLine() {
+        List<TaskImportLine> lines = read("title,description\nok,\nbroken,\"never\nclosed");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).errors()).isEmpty();
+        assertThat(lines.get(1).line()).isEqualTo(3L);
+        assertThat(lines.get(1).request().description()).isEqualTo("never\nclosed");
+        assertThat(lines.get(1).errors()).containsEntry("line", "unterminated quoted field");
+    }
+
+    @Test
+    void invalidDueDateIsReportedAsAFieldError() {
+        assertThat(read("title,dueDate\nx,02/01/2025"))
+                .singleElement()
+                .satisfies(line -> assertThat(line.errors()).isEqualTo(Map.of("dueDate", "must be a date in yyyy-MM-dd format")));
+    }
+
+    @Test
+    void unknownColumnsAreIgnoredAndHeaderIsMatchedLoosely() {
+        // The column order and names of an export, with a byte order mark
+        List<TaskImportLine> lines = read("\uFEFFid, Title ,completed,DUEDATE,createdOn\n7,exported,true,2025-03-04,2025-01-01T10:00\n");
+
+        assertThat(lines).singleElement().satisfies(line -> {
+            assertThat(line.request().title()).isEqualTo("exported");
+            assertThat(line.request().description()).isNull();
+            assertThat(line.request().dueDate()).isEqualTo(LocalDate.of(2025, 3, 4));
+        });
+    }
+
+    @Test
+    void missingFieldsAreNull() {
+        assertThat(read("title,description,dueDate\nshort\n"))
+                .singleElement()
+                .satisfies(line -> {
+                    assertThat(line.request().description()).isNull();
+                    assertThat(line.request().dueDate()).isNull();
+                    assertThat(line.errors()).isEmpty();
+                });
+    }
+
+    @Test
+    void headerWithoutTitleIsRejected() {
+        assertThatThrownBy(() -> read("name,description\nx,y\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV header must contain a title column");
+    }
+
+    @Test
+    void emptyFileIsRejected() {
+        assertThatThrownBy(() -> read(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV file is empty");
+    }
+
+    @Test
+    void nulCharactersFailValidationOfTheirLineOnly() {
+        List<TaskImportLine> lines = read("title,description\nfine,text\nbad,\"a\u0000b\"\n");
+
+        assertThat(violations(lines.get(0).request())).isEmpty();
+        assertThat(violations(lines.get(1).request()))
+                .singleElement()
+                .satisfies(violation -> {
+                    assertThat(violation.getPropertyPath()).hasToString("description");
+                    assertThat(violation.getMessage()).isEqualTo("must not contain NUL characters");
+                });
+    }
+
+    @Test
+    void recordOverTheLimitIsRejectedOnItsLineAndReadingGoesOn() {
+        String longField = "x".repeat(MAX_RECORD_LENGTH);
+        List<TaskImportLine> lines = read("title,description\nbefore,\ntoo long,\"" + longField + "\nstill quoted\"\nafter,\n");
+
+        assertThat(lines).extracting(TaskImportLine::line).containsExactly(2L, 3L, 5L);
+        assertThat(lines.get(1).errors()).isEqualTo(Map.of("line", "longer than 200 characters"));
+        assertThat(lines.get(1).request().description()).isNull();
+        assertThat(lines.get(2).request().title()).isEqualTo("after");
+        assertThat(lines.get(2).errors()).isEmpty();
+    }
+
+    @Test
+    void unterminatedQuoteOverTheLimitIsOneRejectedLine() {
+        List<TaskImportLine> lines = read("title\n\"" + "never closed\n".repeat(100));
+
+        assertThat(lines).singleElement().satisfies(line -> {
+            assertThat(line.line()).isEqualTo(2L);
+            assertThat(line.errors()).containsEntry("line", "longer than 200 characters");
+        });
+    }
+
+    @Test
+    void headerOverTheLimitIsRejected() {
+        assertThatThrownBy(() -> read("title," + "x".repeat(MAX_RECORD_LENGTH) + "\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("CSV header is longer than 200 characters");
+    }
+
+    private static List<TaskImportLine> read(String csv) {
+        try (Stream<TaskImportLine> lines = TaskCsvReader.lines(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), MAX_RECORD_LENGTH)) {
+            return lines.toList();
+        }
+    }
+
+    private static Set<ConstraintViolation<TaskCreateRequest>> violations(TaskCreateRequest request) {
+        Validator validator = validatorFactory.getValidator();
+        return validator.validate(request);
+    }
+}
@@ -0,0 +1,220 @@
+package fr.corentinbringer.smarttasks.project.infrastructure.web.upload;
+
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartUploadReaderTests {
+
+    private static final String BOUNDARY = "----form-boundary-7MA4YWxkTrZu0gW";
+
+    private final MultipartUploadReader reader = new MultipartUploadReader(DataSize.ofKilobytes(512), DataSize.ofKilobytes(600));
+
+    @Test
+    void fileAfterOtherFieldsIsReturnedWhole() throws IOException {
+        // Content that starts like the delimiter without being it
+        byte[] content = ("line\r\n--" + BOUNDARY.substring(0, 10) + "\r\n--\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] body = body(
+                part("form-data; name=\"comment\"", null, "some text".getBytes(StandardCharsets.UTF_8)),
+                part("form-data; name=\"other\"; filename=\"other.txt\"", "text/plain", "skipped".getBytes(StandardCharsets.UTF_8)),
+                part("form-data; name=\"file\"; filename=\"résumé.txt\"", "text/plain", content));
+
+        MultipartUploadReader.FilePart file = reader.findFile(request(body), "file");
+
+        assertThat(file.fileName()).isEqualTo("résumé.txt");
+        assertThat(file.contentType()).isEqualTo("text/plain");
+        assertThat(file.content().readAllBytes()).isEqualTo(content);
+    }
+
+    @Test
+    void contentArrivingInSmallReadsIsIntact() throws IOException {
+        byte[] content = new byte[200_000];
+        new Random(42).nextBytes(content);
+        byte[] body = body(part("form-data; name=\"file\"; filename=\"random.bin\"", null, content));
+
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new DelegatingServletInputStream(new TrickleInputStream(new ByteArrayInputStream(body), 7));
+            }
+        };
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+
+        MultipartUploadReader.FilePart file = reader.findFile(request, "file");
+
+        assertThat(file.contentType()).isEqualTo("application/octet-stream");
+        assertThat(file.content().readAllBytes()).isEqualTo(content);
+    }
+
+    @Test
+    void contentReadOneByteAtATimeIsIntact() throws IOException {
+        // Near misses of the delimiter on both sides of buffer refills
+        byte[] content = ("\r\n--" + BOUNDARY.substring(0, 20) + "x").repeat(2000).getBytes(StandardCharsets.US_ASCII);
+        byte[] body = body(
+                part("form-data; name=\"file\"; filename=\"near-misses.txt\"", null, content),
+                part("form-data; name=\"after\"", null, "trailing field".getBytes(StandardCharsets.UTF_8)));
+
+        InputStream in = reader.findFile(request(body), "file").content();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        for (int b = in.read(); b >= 0; b = in.read()) {
+            read.write(b);
+        }
+
+        assertThat(read.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void quotedBoundaryPreambleAndPaddingAreAccepted() throws IOException {
+        String body = "preamble to ignore\r\n"
+                + "--" + BOUNDARY + " \t\r\n"
+                + "content-disposition: form-data; name=\"file\"; filename*=UTF-8''na%C3%AFve.txt\r\n\r\n"
+                + "data\r\n"
+                + "--" + BOUNDARY + "--\r\nepilogue";
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("multipart/form-data; boundary=\"" + BOUNDARY + "\"");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+
+        MultipartUploadReader.FilePart file = reader.findFile(request, "file");
+
+        assertThat(file.fileName()).isEqualTo("naïve.txt");
+        assertThat(file.content().readAllBytes()).asString(StandardCharsets.UTF_8).isEqualTo("data");
+    }
+
+    @Test
+    void missingFilePartIsRejected() {
+        byte[] body = body(part("form-data; name=\"file\"", null, "a field, not a file".getBytes(StandardCharsets.UTF_8)));
+
+        assertThatThrownBy(() -> reader.findFile(request(body), "file"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing file part 'file'");
+    }
+
+    @Test
+    void otherContentTypesAreRejected() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/json");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> reader.findFile(request, "file"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected a multipart/form-data request");
+    }
+
+    @Test
+    void bodyCutBeforeTheClosingBoundaryFailsTheRead() throws IOException {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"cut.txt\"\r\n\r\n"
+                + "the client went away";
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+
+        InputStream content = reader.findFile(request, "file").content();
+
+        assertThatThrownBy(content::readAllBytes).isInstanceOf(MalformedMultipartException.class);
+    }
+
+    @Test
+    void partWithoutContentDispositionIsMalformed() {
+        String body = "--" + BOUNDARY + "\r\nContent-Type: text/plain\r\n\r\nx\r\n--" + BOUNDARY + "--\r\n";
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> reader.findFile(request, "file")).isInstanceOf(MalformedMultipartException.class);
+    }
+
+    @Test
+    void fileOverTheFileLimitFailsTheReadThatCrossesIt() throws IOException {
+        byte[] body = body(part("form-data; name=\"file\"; filename=\"big.bin\"", null, new byte[513 * 1024]));
+        InputStream content = reader.findFile(request(body), "file").content();
+
+        assertThatThrownBy(content::readAllBytes)
+                .isInstanceOfSatisfying(UploadTooLargeException.class,
+                        e -> assertThat(e.getPermitted()).isEqualTo(512 * 1024));
+    }
+
+    @Test
+    void bodyOverTheRequestLimitIsRefusedBeforeReading() {
+        byte[] body = body(part("form-data; name=\"file\"; filename=\"big.bin\"", null, new byte[601 * 1024]));
+
+        assertThatThrownBy(() -> reader.findFile(request(body), "file"))
+                .isInstanceOfSatisfying(UploadTooLargeException.class,
+                        e -> assertThat(e.getPermitted()).isEqualTo(600 * 1024));
+    }
+
+    @Test
+    void bodyOverTheRequestLimitWithoutLengthFailsWhileReading() {
+        byte[] body = body(
+                part("form-data; name=\"padding\"", null, new byte[400 * 1024]),
+                part("form-data; name=\"file\"; filename=\"big.bin\"", null, new byte[300 * 1024]));
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new DelegatingServletInputStream(new ByteArrayInputStream(body));
+            }
+        };
+        // Chunked: no length to check up front
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+
+        assertThatThrownBy(() -> reader.findFile(request, "file").content().readAllBytes())
+                .isInstanceOf(UploadTooLargeException.class);
+    }
+
+    private static MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] part(String disposition, String contentType, byte[] content) {
+        ByteArrayOutputStream part = new ByteArrayOutputStream();
+        part.writeBytes(("--" + BOUNDARY + "\r\nContent-Disposition: " + disposition + "\r\n"
+                + (contentType == null ? "" : "Content-Type: " + contentType + "\r\n")
+                + "\r\n").getBytes(StandardCharsets.UTF_8));
+        part.writeBytes(content);
+        part.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        return part.toByteArray();
+    }
+
+    private static byte[] body(byte[]... parts) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            body.writeBytes(part);
+        }
+        body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    /**
+     * Returns at most {@code maxRead} bytes per read, like a slow client.
+     */
+    private static final class TrickleInputStream extends FilterInputStream {
+
+        private final int maxRead;
+
+        private TrickleInputStream(InputStream in, int maxRead) {
+            super(in);
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, maxRead));
+        }
+    }
+}